@@ -7,16 +7,22 @@ import dev.jonas.library.dtos.user.UserInputDTO;
 import dev.jonas.library.services.auth.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST controller for handling authentication-related operations such as login, registration,
  * token refresh, and logout.
+ * Login and registration are handled asynchronously so password hashing does not hold a servlet thread;
+ * refresh and logout complete once their writes are committed by the write pipeline.
  */
 @RestController
 @RequestMapping("/auth")
@@ -26,24 +32,24 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDto> login(@RequestBody @Valid LoginRequestDto req) {
-        return ResponseEntity.ok(authService.login(req));
+    public CompletableFuture<ResponseEntity<AuthResponseDto>> login(@RequestBody @Valid LoginRequestDto req) {
+        return authService.login(req).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponseDto> register(@RequestBody @Valid UserInputDTO req) {
-        return ResponseEntity.ok(authService.register(req));
+    public CompletableFuture<ResponseEntity<AuthResponseDto>> register(@RequestBody @Valid UserInputDTO req) {
+        return authService.register(req).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/refresh")
-    public ResponseEntity<AuthResponseDto> refresh(@RequestBody RefreshRequestDTO request) {
-        return ResponseEntity.ok(authService.refresh(request.getToken()));
+    public CompletableFuture<ResponseEntity<AuthResponseDto>> refresh(@RequestBody RefreshRequestDTO request) {
+        return authService.refresh(request.getToken()).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/logout")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<String> logout() {
-        authService.logoutAuthenticatedUser();
-        return ResponseEntity.ok("Successfully logged out");
+    public CompletableFuture<ResponseEntity<String>> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        return authService.logoutAuthenticatedUser(authorization.substring("Bearer ".length()))
+                .thenApply(done -> ResponseEntity.ok("Successfully logged out"));
     }
 }
\ No newline at end of file
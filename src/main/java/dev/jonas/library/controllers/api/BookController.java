@@ -2,6 +2,7 @@ package dev.jonas.library.controllers.api;
 
 import dev.jonas.library.dtos.book.BookDetailsDTO;
 import dev.jonas.library.dtos.book.BookInputDTO;
+import dev.jonas.library.dtos.book.BookSliceDTO;
 import dev.jonas.library.services.book.BookService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +37,22 @@ public class BookController {
         return ResponseEntity.ok(books);
     }
 
+    /**
+     * Cursor (keyset) pagination mode, selected by the presence of {@code after}.
+     * Send an empty {@code after} for the first slice, then pass back {@code nextCursor}.
+     * Every slice costs the same regardless of depth and no total count is computed.
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<BookSliceDTO> getBooksAfterCursor(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        BookSliceDTO slice = bookService.getBooksAfterCursor(title, author, after, size);
+        return ResponseEntity.ok(slice);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<BookDetailsDTO>> searchBooks(
             @RequestParam(required = false) String title,
@@ -1,35 +1,83 @@
 package dev.jonas.library.controllers.api;
 
+import dev.jonas.library.dtos.loan.LoanBatchCheckoutDTO;
+import dev.jonas.library.dtos.loan.LoanBatchResultDTO;
+import dev.jonas.library.dtos.loan.LoanBatchReturnDTO;
 import dev.jonas.library.dtos.loan.LoanCreateDTO;
 import dev.jonas.library.dtos.loan.LoanDTO;
+import dev.jonas.library.dtos.loan.LoanFilterDTO;
+import dev.jonas.library.dtos.loan.LoanSliceDTO;
+import dev.jonas.library.dtos.loan.LoanStatus;
 import dev.jonas.library.services.loan.LoanService;
+import dev.jonas.library.services.write.WritePipeline;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for managing loan operations.
  * Provides endpoints to retrieve, create, extend, and return loans.
+ * Mutations are handed to the {@link WritePipeline} and completed asynchronously.
  */
 @RestController
 @RequestMapping("/loans")
 @RequiredArgsConstructor
 public class LoanController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final LoanService loanService;
+    private final WritePipeline writePipeline;
 
     // ==================== [ GET ] ====================
+    /**
+     * Keyset-paginated, filtered loan listing. Pass {@code nextCursor} back as {@code after}
+     * for the next slice; every slice costs the same regardless of depth.
+     */
     @GetMapping
-    public ResponseEntity<List<LoanDTO>> getAllLoans() {
-        List<LoanDTO> loans = loanService.getAllLoanDTOs();
-        return ResponseEntity.ok(loans);
+    public ResponseEntity<LoanSliceDTO> getLoans(
+            @RequestParam(required = false) LoanStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long bookId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        LoanFilterDTO filter = new LoanFilterDTO(status, from, to, userId, bookId);
+        LoanSliceDTO slice = loanService.getLoans(filter, after, size);
+        return ResponseEntity.ok(slice);
+    }
+
+    /**
+     * Streams every matching loan as newline-delimited JSON in constant memory.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportLoans(
+            @RequestParam(required = false) LoanStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long bookId
+    ) {
+        LoanFilterDTO filter = new LoanFilterDTO(status, from, to, userId, bookId);
+        StreamingResponseBody body = out -> loanService.exportLoans(filter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
     }
 
     @PreAuthorize("@userAccessValidator.isAdminOrSelf(#id)")
@@ -53,25 +101,41 @@ public class LoanController {
     // ==================== [ POST ] ====================
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
-    public ResponseEntity<LoanDTO> createLoan(@RequestBody @Valid LoanCreateDTO dto) {
-        LoanDTO createdLoan = loanService.addLoan(dto);
-        return ResponseEntity
-                .created(URI.create("/loans/" + createdLoan.getLoanId()))
-                .body(createdLoan);
+    public CompletableFuture<ResponseEntity<LoanDTO>> createLoan(@RequestBody @Valid LoanCreateDTO dto) {
+        return writePipeline.submit(() -> loanService.addLoan(dto))
+                .thenApply(createdLoan -> ResponseEntity
+                        .created(URI.create("/loans/" + createdLoan.getLoanId()))
+                        .body(createdLoan));
+    }
+
+    /**
+     * Checks out a stack of books to one user in one transaction; the result lists an outcome per book id.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<LoanBatchResultDTO>> checkoutBooks(@RequestBody @Valid LoanBatchCheckoutDTO dto) {
+        return writePipeline.submit(() -> loanService.checkoutBooks(dto)).thenApply(ResponseEntity::ok);
     }
 
     // ==================== [ PUT ] ====================
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}/extend")
-    public ResponseEntity<LoanDTO> extendLoan(@PathVariable Long id) {
-        LoanDTO extendedLoan = loanService.extendLoan(id);
-        return ResponseEntity.ok(extendedLoan);
+    public CompletableFuture<ResponseEntity<LoanDTO>> extendLoan(@PathVariable Long id) {
+        return writePipeline.submit(() -> loanService.extendLoan(id)).thenApply(ResponseEntity::ok);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}/return")
-    public ResponseEntity<LoanDTO> returnLoan(@PathVariable Long id) {
-        LoanDTO returnedLoan = loanService.returnLoan(id);
-        return ResponseEntity.ok(returnedLoan);
+    public CompletableFuture<ResponseEntity<LoanDTO>> returnLoan(@PathVariable Long id) {
+        return writePipeline.submit(() -> loanService.returnLoan(id)).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Returns a stack of loans in one transaction; the result lists an outcome per loan id.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/return")
+    public CompletableFuture<ResponseEntity<LoanBatchResultDTO>> returnLoans(@RequestBody @Valid LoanBatchReturnDTO dto) {
+        return writePipeline.submit(() -> loanService.returnLoans(dto)).thenApply(ResponseEntity::ok);
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package dev.jonas.library.dtos.book;
+
+/**
+ * Interface projection of the {@link BookDetailsDTO} columns.
+ * Used by native queries, which cannot use JPQL constructor expressions.
+ */
+public interface BookDetailsView {
+    Long getBookId();
+
+    String getTitle();
+
+    String getAuthorName();
+
+    Integer getPublicationYear();
+
+    Integer getTotalCopies();
+
+    Integer getAvailableCopies();
+}
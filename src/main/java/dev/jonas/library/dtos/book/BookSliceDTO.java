@@ -0,0 +1,21 @@
+package dev.jonas.library.dtos.book;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one cursor-paginated slice of books.
+ * Carries no total count; follow {@code nextCursor} until {@code hasNext} is false.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class BookSliceDTO {
+    private List<BookDetailsDTO> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,27 @@
+package dev.jonas.library.dtos.loan;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO for checking out a stack of books to one user in a single request.
+ * The same book id may appear more than once to borrow several copies.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanBatchCheckoutDTO {
+    @NotNull
+    private Long userId;
+    @NotEmpty
+    @Size(max = 100)
+    private List<@NotNull Long> bookIds;
+}
@@ -0,0 +1,22 @@
+package dev.jonas.library.dtos.loan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for the outcome of one item in a bulk checkout or return.
+ * {@code id} echoes the requested book id (checkout) or loan id (return);
+ * {@code loanId} and {@code dueDate} are only set for created loans.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class LoanBatchItemDTO {
+    private Long id;
+    private LoanBatchOutcome outcome;
+    private Long loanId;
+    private LocalDate dueDate;
+}
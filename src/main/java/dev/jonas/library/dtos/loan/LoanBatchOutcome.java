@@ -0,0 +1,17 @@
+package dev.jonas.library.dtos.loan;
+
+/**
+ * Result of a single item in a bulk checkout or bulk return.
+ */
+public enum LoanBatchOutcome {
+    CREATED,
+    RETURNED,
+    BOOK_NOT_FOUND,
+    UNAVAILABLE,
+    LOAN_NOT_FOUND,
+    ALREADY_RETURNED;
+
+    public boolean isSuccess() {
+        return this == CREATED || this == RETURNED;
+    }
+}
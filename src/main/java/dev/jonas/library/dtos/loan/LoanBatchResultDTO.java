@@ -0,0 +1,25 @@
+package dev.jonas.library.dtos.loan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a bulk checkout or return.
+ * Items are in request order; a failed item never rolls back the others.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class LoanBatchResultDTO {
+    private List<LoanBatchItemDTO> items;
+    private int succeeded;
+    private int failed;
+
+    public static LoanBatchResultDTO of(List<LoanBatchItemDTO> items) {
+        int succeeded = (int) items.stream().filter(item -> item.getOutcome().isSuccess()).count();
+        return new LoanBatchResultDTO(items, succeeded, items.size() - succeeded);
+    }
+}
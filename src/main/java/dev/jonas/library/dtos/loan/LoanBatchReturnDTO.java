@@ -0,0 +1,24 @@
+package dev.jonas.library.dtos.loan;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO for returning a stack of loans in a single request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanBatchReturnDTO {
+    @NotEmpty
+    @Size(max = 100)
+    private List<@NotNull Long> loanIds;
+}
@@ -0,0 +1,18 @@
+package dev.jonas.library.dtos.loan;
+
+import java.time.LocalDate;
+
+/**
+ * One flat line of the NDJSON loan export.
+ */
+public record LoanExportRow(
+        Long loanId,
+        Long bookId,
+        String title,
+        Long userId,
+        String email,
+        LocalDate borrowedDate,
+        LocalDate dueDate,
+        LocalDate returnedDate
+) {
+}
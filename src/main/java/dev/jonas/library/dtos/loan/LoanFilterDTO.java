@@ -0,0 +1,23 @@
+package dev.jonas.library.dtos.loan;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object with optional criteria for loan listings and exports; {@code null} fields do not filter.
+ * {@code from}/{@code to} bound the borrowed date (inclusive).
+ */
+public record LoanFilterDTO(LoanStatus status, LocalDate from, LocalDate to, Long userId, Long bookId) {
+
+    // null = any, true = returned only, false = not returned only
+    public Boolean returned() {
+        if (status == null) {
+            return null;
+        }
+        return status == LoanStatus.RETURNED;
+    }
+
+    // Loans due before this date are overdue; only set for OVERDUE.
+    public LocalDate overdueBefore() {
+        return status == LoanStatus.OVERDUE ? LocalDate.now() : null;
+    }
+}
@@ -0,0 +1,21 @@
+package dev.jonas.library.dtos.loan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one keyset-paginated slice of loans.
+ * Carries no total count; pass {@code nextCursor} as {@code after} until {@code hasNext} is false.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class LoanSliceDTO {
+    private List<LoanDTO> content;
+    private int size;
+    private boolean hasNext;
+    private Long nextCursor;
+}
@@ -0,0 +1,10 @@
+package dev.jonas.library.dtos.loan;
+
+/**
+ * Loan states a listing can be filtered on.
+ */
+public enum LoanStatus {
+    ACTIVE,   // not returned yet
+    OVERDUE,  // not returned and past its due date
+    RETURNED
+}
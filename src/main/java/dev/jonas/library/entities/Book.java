@@ -7,7 +7,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "books")
+// Index backing keyset pagination on (title, bookId)
+@Table(name = "books",
+        indexes = {
+                @Index(name = "idx_books_title_id", columnList = "title, bookId")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -8,7 +8,13 @@ import lombok.Setter;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "loans")
+@Table(
+        name = "loans",
+        indexes = {
+                @Index(name = "idx_loans_user_id_returned_date", columnList = "user_id, returnedDate"),
+                @Index(name = "idx_loans_book_id_returned_date", columnList = "book_id, returnedDate")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -6,7 +6,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refresh_tokens")
+// Indexes backing the expired-token sweeper and the per-user session cap
+@Table(name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiryDate"),
+                @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,8 +23,11 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 512)
-    private String token;
+    // SHA-256 of the token secret. The client holds "<id>.<secret>"; the plaintext is never stored.
+    // One row is one session: each refresh rotates the secret in place and retires the old digest
+    // (see RetiredRefreshToken).
+    @Column(nullable = false, length = 32)
+    private byte[] tokenHash;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -28,6 +36,9 @@ public class RefreshToken {
     @Column(nullable = false)
     private LocalDateTime expiryDate;
 
+    // Issue or last rotation; the per-user cap evicts the least recently used session first.
+    private LocalDateTime lastUsedAt;
+
     @Column(nullable = false)
     private boolean revoked = false;
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package dev.jonas.library.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Indexes backing the reuse lookup per session and the sweep of old digests
+@Entity
+@Table(name = "retired_refresh_tokens",
+        indexes = {
+                @Index(name = "idx_retired_refresh_tokens_session_id", columnList = "sessionId, tokenHash"),
+                @Index(name = "idx_retired_refresh_tokens_retired_at", columnList = "retiredAt")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetiredRefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The refresh_tokens row (session) that held this digest.
+    @Column(nullable = false)
+    private Long sessionId;
+
+    // SHA-256 of a secret the session rotated away from; presenting it again means the token family leaked.
+    @Column(nullable = false, length = 32)
+    private byte[] tokenHash;
+
+    // Kept for one refresh token lifetime after this; an older token would have expired anyway.
+    @Column(nullable = false)
+    private LocalDateTime retiredAt;
+
+    public RetiredRefreshToken(Long sessionId, byte[] tokenHash, LocalDateTime retiredAt) {
+        this.sessionId = sessionId;
+        this.tokenHash = tokenHash;
+        this.retiredAt = retiredAt;
+    }
+}
@@ -0,0 +1,28 @@
+package dev.jonas.library.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Index backing the purge of revocations whose token has expired anyway
+@Entity
+@Table(name = "revoked_access_tokens",
+        indexes = {
+                @Index(name = "idx_revoked_access_tokens_expires_at", columnList = "expiresAt")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedAccessToken {
+
+    // The revoked token's jti claim.
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    // The revoked token's exp claim; the entry is useless after this.
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
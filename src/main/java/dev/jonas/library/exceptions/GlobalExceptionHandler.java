@@ -115,6 +115,19 @@ public class GlobalExceptionHandler {
         return errorResponseBuilder.buildErrorResponse(HttpStatus.LOCKED, ex.getMessage(), request);
     }
 
+    // ==================== 503 / Service Unavailable ====================
+    // Thrown when the password hashing pool is saturated; clients should retry shortly.
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusy(PasswordHashingBusyException ex, HttpServletRequest request) {
+        return errorResponseBuilder.buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+    }
+
+    // Thrown when the database write queue is full; clients should retry shortly.
+    @ExceptionHandler(WritePipelineBusyException.class)
+    public ResponseEntity<ErrorResponse> handleWritePipelineBusy(WritePipelineBusyException ex, HttpServletRequest request) {
+        return errorResponseBuilder.buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+    }
+
     // ==================== 500 / Internal Server Error ====================
     @ExceptionHandler(EncryptionFailedException.class)
     public ResponseEntity<ErrorResponse> handleEncryptionFailure(EncryptionFailedException ex, HttpServletRequest request) {
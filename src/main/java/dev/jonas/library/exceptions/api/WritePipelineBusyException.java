@@ -0,0 +1,7 @@
+package dev.jonas.library.exceptions.api;
+
+public class WritePipelineBusyException extends RuntimeException {
+    public WritePipelineBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package dev.jonas.library.exceptions.security;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
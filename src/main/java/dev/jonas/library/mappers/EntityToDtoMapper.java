@@ -2,6 +2,7 @@ package dev.jonas.library.mappers;
 
 import dev.jonas.library.dtos.author.AuthorDTO;
 import dev.jonas.library.dtos.book.BookDetailsDTO;
+import dev.jonas.library.dtos.book.BookDetailsView;
 import dev.jonas.library.dtos.loan.LoanDTO;
 import dev.jonas.library.dtos.user.UserDTO;
 import dev.jonas.library.entities.Author;
@@ -38,6 +39,18 @@ public class EntityToDtoMapper {
         );
     }
 
+    // ==================== [ Books – Projection ] ====================
+    public static BookDetailsDTO mapToBookDetailsDtoFromView(BookDetailsView view) {
+        return new BookDetailsDTO(
+                view.getBookId(),
+                view.getTitle(),
+                view.getAuthorName(),
+                view.getPublicationYear(),
+                view.getTotalCopies(),
+                view.getAvailableCopies()
+        );
+    }
+
     // ==================== [ Books – Simple ] ====================
     public static BookDetailsDTO mapToBookDetailsDtoSimple(Book book) {
         return new BookDetailsDTO(
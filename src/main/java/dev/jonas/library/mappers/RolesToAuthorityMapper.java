@@ -1,30 +1,77 @@
 package dev.jonas.library.mappers;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import dev.jonas.library.repositories.RoleRepository;
-import dev.jonas.library.repositories.UserRoleRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.Collection;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
+/**
+ * Resolves a user's roles into Spring Security authorities.
+ * Results are cached per user id (bounded, TTL-based) and evicted when the user's roles change.
+ * Hit/miss statistics are published as the {@code cache.*} metrics with {@code cache=authorities}.
+ */
 @Component
-@RequiredArgsConstructor
 public class RolesToAuthorityMapper {
 
-    private final UserRoleRepository userRoleRepository;
     private final RoleRepository roleRepository;
+    private final Cache<Long, Collection<GrantedAuthority>> authorityCache;
+
+    public RolesToAuthorityMapper(
+            RoleRepository roleRepository,
+            MeterRegistry meterRegistry,
+            @Value("${library.security.authority-cache.max-size:10000}") long maxSize,
+            @Value("${library.security.authority-cache.ttl:5m}") Duration ttl
+    ) {
+        this.roleRepository = roleRepository;
+        this.authorityCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, authorityCache, "authorities");
+    }
 
     public Collection<GrantedAuthority> mapRolesToAuthorities(Long userId) {
-        return userRoleRepository
-                .findByUserId(userId)
+        return authorityCache.get(userId, this::loadAuthorities);
+    }
+
+    // ==================== [ Invalidation ] ====================
+
+    /**
+     * Drops the cached authorities of a user. Inside a transaction this happens after commit, so a request
+     * running in between cannot reload the old roles and keep them cached for the rest of the TTL.
+     */
+    public void evict(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            authorityCache.invalidate(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                authorityCache.invalidate(userId);
+            }
+        });
+    }
+
+    // ==================== [ Loading ] ====================
+    private Collection<GrantedAuthority> loadAuthorities(Long userId) {
+        return roleRepository
+                .findRoleNamesByUserId(userId)
                 .stream()
-                .map(ur -> roleRepository.findById(ur.getRoleId()).orElse(null))
-                .filter(Objects::nonNull)
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getRoleName()))
-                .collect(Collectors.toList());
+                .<GrantedAuthority>map(roleName -> new SimpleGrantedAuthority("ROLE_" + roleName))
+                .toList();
     }
-}
\ No newline at end of file
+}
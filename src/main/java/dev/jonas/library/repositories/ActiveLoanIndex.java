@@ -0,0 +1,32 @@
+package dev.jonas.library.repositories;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the partial index over the due dates of loans that are still out.
+ * JPA cannot declare a partial index, and only active loans are ever checked for being overdue,
+ * so returned loans (the bulk of the table over time) are left out of it entirely.
+ * SQLite only uses it for queries that also say {@code returned_date IS NULL}.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory") // Hibernate must have created the base tables first
+@RequiredArgsConstructor
+public class ActiveLoanIndex {
+
+    public static final String NAME = "idx_loans_active_due_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initialize() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + NAME +
+                " ON loans (due_date) WHERE returned_date IS NULL");
+        log.info("Partial index '{}' ready", NAME);
+    }
+}
@@ -0,0 +1,108 @@
+package dev.jonas.library.repositories;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the SQLite FTS5 index ({@code books_fts}) used by the full-text book search.
+ * The index is keyed by {@code book_id} (as rowid) and kept in sync with {@code books}
+ * and {@code authors} through triggers, so no service code has to write to it.
+ * At startup it is only rebuilt when it was just created or its row count no longer matches
+ * {@code books}; {@link #rebuild()} stays available as an explicit maintenance operation.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory") // Hibernate must have created the base tables first
+@RequiredArgsConstructor
+public class BookFullTextIndex {
+
+    public static final String TABLE = "books_fts";
+
+    private static final String AUTHOR_NAME_OF_NEW_BOOK =
+            "(SELECT a.first_name || ' ' || a.last_name FROM authors a WHERE a.author_id = new.author_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initialize() {
+        boolean created = createIndex();
+        createTriggers();
+
+        long indexed = count(TABLE);
+        long books = count("books");
+        if (created || indexed != books) {
+            log.info("Rebuilding full-text index '{}' ({} indexed, {} books)", TABLE, indexed, books);
+            indexed = rebuild();
+        }
+        log.info("Full-text index '{}' ready with {} books", TABLE, indexed);
+    }
+
+    // ==================== [ Schema ] ====================
+    /** Creates the index unless it exists; returns whether it was created. */
+    private boolean createIndex() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = ?", Integer.class, TABLE);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+        jdbcTemplate.execute("CREATE VIRTUAL TABLE " + TABLE +
+                " USING fts5(title, author_name, tokenize = 'unicode61')");
+        return true;
+    }
+
+    private void createTriggers() {
+        jdbcTemplate.execute("""
+                CREATE TRIGGER IF NOT EXISTS books_fts_after_insert AFTER INSERT ON books BEGIN
+                    INSERT INTO books_fts(rowid, title, author_name)
+                    VALUES (new.book_id, new.title, %s);
+                END
+                """.formatted(AUTHOR_NAME_OF_NEW_BOOK));
+
+        jdbcTemplate.execute("""
+                CREATE TRIGGER IF NOT EXISTS books_fts_after_update AFTER UPDATE OF title, author_id ON books BEGIN
+                    DELETE FROM books_fts WHERE rowid = old.book_id;
+                    INSERT INTO books_fts(rowid, title, author_name)
+                    VALUES (new.book_id, new.title, %s);
+                END
+                """.formatted(AUTHOR_NAME_OF_NEW_BOOK));
+
+        jdbcTemplate.execute("""
+                CREATE TRIGGER IF NOT EXISTS books_fts_after_delete AFTER DELETE ON books BEGIN
+                    DELETE FROM books_fts WHERE rowid = old.book_id;
+                END
+                """);
+
+        jdbcTemplate.execute("""
+                CREATE TRIGGER IF NOT EXISTS books_fts_after_author_update AFTER UPDATE OF first_name, last_name ON authors BEGIN
+                    UPDATE books_fts SET author_name = new.first_name || ' ' || new.last_name
+                    WHERE rowid IN (SELECT book_id FROM books WHERE author_id = new.author_id);
+                END
+                """);
+    }
+
+    // ==================== [ Rebuild ] ====================
+
+    /**
+     * Re-populates the index from the base tables. Startup calls it only for a new or visibly
+     * out-of-sync index; run it by hand after editing {@code books} with the triggers disabled.
+     */
+    public int rebuild() {
+        jdbcTemplate.execute("DELETE FROM " + TABLE);
+        return jdbcTemplate.update("""
+                INSERT INTO books_fts(rowid, title, author_name)
+                SELECT b.book_id, b.title, a.first_name || ' ' || a.last_name
+                FROM books b
+                LEFT JOIN authors a ON a.author_id = b.author_id
+                """);
+    }
+
+    // ==================== [ Helpers ] ====================
+    private long count(String table) {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return rows == null ? 0 : rows;
+    }
+}
@@ -1,9 +1,13 @@
 package dev.jonas.library.repositories;
 
+import dev.jonas.library.dtos.book.BookDetailsDTO;
+import dev.jonas.library.dtos.book.BookDetailsView;
 import dev.jonas.library.entities.Book;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,21 +18,83 @@ import java.util.Optional;
 // ==================== [ Queries ] ====================
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
-    // ==================== [ JPQL Search ] ====================
-    @Query("SELECT b FROM Book b WHERE " +
-            "(:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))) AND " +
-            "(:author IS NULL OR (b.author IS NOT NULL AND LOWER(CONCAT(b.author.firstName, ' ', b.author.lastName)) LIKE LOWER(CONCAT('%', :author, '%'))))")
-    List<Book> searchBooks(@Param("title") String title, @Param("author") String author);
-
     // ==================== [ Native Query ] ====================
     @Query(value = "SELECT * FROM books WHERE book_id = :id", nativeQuery = true)
     Optional<Book> findBookByIdNative(@Param("id") Long id);
 
-    // ==================== [ JPQL Paged Search ] ====================
-    @Query("""
-            SELECT b FROM Book b
-            WHERE (:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')))
-            AND (:author IS NULL OR LOWER(CONCAT(b.author.firstName, ' ', b.author.lastName)) LIKE LOWER(CONCAT('%', :author, '%')))
-            """)
-    Page<Book> searchBooksPaged(@Param("title") String title, @Param("author") String author, Pageable pageable);
+    // ==================== [ DTO Projections ] ====================
+    // Read-only catalog queries select exactly the BookDetailsDTO columns, so no entities are
+    // hydrated or tracked for dirty checking.
+    String BOOK_DETAILS = """
+            new dev.jonas.library.dtos.book.BookDetailsDTO(
+                b.bookId, b.title, CONCAT(a.firstName, ' ', a.lastName),
+                b.publicationYear, b.totalCopies, b.availableCopies)
+            """;
+
+    String TITLE_AUTHOR_FILTER = """
+            (:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')))
+            AND (:author IS NULL OR LOWER(CONCAT(a.firstName, ' ', a.lastName)) LIKE LOWER(CONCAT('%', :author, '%')))
+            """;
+
+    @Query(value = "SELECT " + BOOK_DETAILS + " FROM Book b LEFT JOIN b.author a",
+            countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookDetailsDTO> findAllDetails(Pageable pageable);
+
+    @Query("SELECT " + BOOK_DETAILS + " FROM Book b LEFT JOIN b.author a WHERE " + TITLE_AUTHOR_FILTER)
+    List<BookDetailsDTO> searchBookDetails(@Param("title") String title, @Param("author") String author);
+
+    @Query(value = "SELECT " + BOOK_DETAILS + " FROM Book b LEFT JOIN b.author a WHERE " + TITLE_AUTHOR_FILTER,
+            countQuery = "SELECT COUNT(b) FROM Book b LEFT JOIN b.author a WHERE " + TITLE_AUTHOR_FILTER)
+    Page<BookDetailsDTO> searchBookDetailsPaged(@Param("title") String title,
+                                                @Param("author") String author,
+                                                Pageable pageable);
+
+    // ==================== [ FTS5 Search ] ====================
+    // Backed by the books_fts index maintained by BookFullTextIndex; :query is an FTS5 MATCH expression.
+    String FULL_TEXT_DETAILS = """
+            SELECT b.book_id AS bookId, b.title AS title,
+                   a.first_name || ' ' || a.last_name AS authorName,
+                   b.publication_year AS publicationYear,
+                   b.total_copies AS totalCopies,
+                   b.available_copies AS availableCopies
+            FROM books b
+            JOIN books_fts ON books_fts.rowid = b.book_id
+            LEFT JOIN authors a ON a.author_id = b.author_id
+            WHERE books_fts MATCH :query
+            ORDER BY books_fts.rank
+            """;
+
+    @Query(value = FULL_TEXT_DETAILS, nativeQuery = true)
+    List<BookDetailsView> fullTextSearch(@Param("query") String query);
+
+    @Query(value = FULL_TEXT_DETAILS,
+            countQuery = "SELECT COUNT(*) FROM books_fts WHERE books_fts MATCH :query",
+            nativeQuery = true)
+    Page<BookDetailsView> fullTextSearchPaged(@Param("query") String query, Pageable pageable);
+
+    // ==================== [ Keyset Pagination ] ====================
+    // Seek on (title, bookId) instead of OFFSET; served by idx_books_title_id and never counted.
+    @Query("SELECT " + BOOK_DETAILS + " FROM Book b LEFT JOIN b.author a WHERE " + TITLE_AUTHOR_FILTER +
+            " ORDER BY b.title, b.bookId")
+    List<BookDetailsDTO> findBooksFirst(@Param("title") String title, @Param("author") String author, Limit limit);
+
+    @Query("SELECT " + BOOK_DETAILS + " FROM Book b LEFT JOIN b.author a WHERE " +
+            "(b.title > :afterTitle OR (b.title = :afterTitle AND b.bookId > :afterId)) AND " + TITLE_AUTHOR_FILTER +
+            " ORDER BY b.title, b.bookId")
+    List<BookDetailsDTO> findBooksAfter(@Param("title") String title,
+                                        @Param("author") String author,
+                                        @Param("afterTitle") String afterTitle,
+                                        @Param("afterId") Long afterId,
+                                        Limit limit);
+
+    // ==================== [ Guarded Copy Updates ] ====================
+    // Single-statement updates so concurrent checkouts cannot oversell a book.
+    // Returns the number of affected rows (0 = no copy left or no such book).
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies - 1 WHERE b.bookId = :id AND b.availableCopies > 0")
+    int decrementAvailableCopies(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies + 1 WHERE b.bookId = :id")
+    int incrementAvailableCopies(@Param("id") Long id);
 }
\ No newline at end of file
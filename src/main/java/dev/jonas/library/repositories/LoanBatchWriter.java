@@ -0,0 +1,131 @@
+package dev.jonas.library.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based loan writes for the bulk circulation endpoints.
+ * Every method issues one statement (or one JDBC batch) for the whole stack instead of one
+ * statement per item, so a desk scan holds SQLite's write lock once rather than per book.
+ * Callers provide the transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoanBatchWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record InsertedLoan(Long loanId, Long bookId) {
+    }
+
+    public record LoanState(Long bookId, boolean returned) {
+    }
+
+    // ==================== [ Checkout ] ====================
+    public Map<Long, Integer> findAvailableCopies(Collection<Long> bookIds) {
+        Map<Long, Integer> available = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT book_id, available_copies FROM books WHERE book_id IN (" + placeholders(bookIds.size()) + ")",
+                rs -> {
+                    available.put(rs.getLong("book_id"), rs.getInt("available_copies"));
+                },
+                bookIds.toArray());
+        return available;
+    }
+
+    /**
+     * Claims copies per book in one batch. The guard makes a stale read claim nothing instead of overselling;
+     * the returned counts are 1 for a granted claim and 0 for a rejected one, in map iteration order.
+     */
+    public int[] claimCopies(Map<Long, Integer> copiesByBook) {
+        if (copiesByBook.isEmpty()) {
+            return new int[0];
+        }
+        List<Object[]> args = new ArrayList<>(copiesByBook.size());
+        copiesByBook.forEach((bookId, copies) -> args.add(new Object[]{copies, bookId, copies}));
+        return jdbcTemplate.batchUpdate(
+                "UPDATE books SET available_copies = available_copies - ? WHERE book_id = ? AND available_copies >= ?",
+                args);
+    }
+
+    /**
+     * Inserts all loans in a single multi-row statement. Hibernate cannot batch inserts for an
+     * IDENTITY id, and RETURNING hands back the generated ids without a follow-up query.
+     */
+    public List<InsertedLoan> insertLoans(Long userId, List<Long> bookIds, LocalDate borrowedDate, LocalDate dueDate) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+
+        String values = String.join(", ", Collections.nCopies(bookIds.size(), "(?, ?, ?, ?)"));
+        List<Object> args = new ArrayList<>(bookIds.size() * 4);
+        for (Long bookId : bookIds) {
+            args.add(userId);
+            args.add(bookId);
+            args.add(Date.valueOf(borrowedDate));
+            args.add(Date.valueOf(dueDate));
+        }
+
+        return jdbcTemplate.query(
+                "INSERT INTO loans (user_id, book_id, borrowed_date, due_date) VALUES " + values
+                        + " RETURNING loan_id, book_id",
+                (rs, rowNum) -> new InsertedLoan(rs.getLong("loan_id"), rs.getLong("book_id")),
+                args.toArray());
+    }
+
+    // ==================== [ Return ] ====================
+    public Map<Long, LoanState> findLoanStates(Collection<Long> loanIds) {
+        Map<Long, LoanState> states = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT loan_id, book_id, returned_date FROM loans WHERE loan_id IN (" + placeholders(loanIds.size()) + ")",
+                rs -> {
+                    boolean returned = rs.getObject("returned_date") != null;
+                    states.put(rs.getLong("loan_id"), new LoanState(rs.getLong("book_id"), returned));
+                },
+                loanIds.toArray());
+        return states;
+    }
+
+    /**
+     * Marks loans returned in one batch. Each count is 1 if this call returned the loan and 0 if
+     * it was already returned in the meantime, in list order.
+     */
+    public int[] markReturned(List<Long> loanIds, LocalDate returnedDate) {
+        if (loanIds.isEmpty()) {
+            return new int[0];
+        }
+        List<Object[]> args = new ArrayList<>(loanIds.size());
+        for (Long loanId : loanIds) {
+            args.add(new Object[]{Date.valueOf(returnedDate), loanId});
+        }
+        return jdbcTemplate.batchUpdate(
+                "UPDATE loans SET returned_date = ? WHERE loan_id = ? AND returned_date IS NULL",
+                args);
+    }
+
+    public void releaseCopies(Map<Long, Integer> copiesByBook) {
+        if (copiesByBook.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(copiesByBook.size());
+        copiesByBook.forEach((bookId, copies) -> args.add(new Object[]{copies, bookId}));
+        jdbcTemplate.batchUpdate(
+                "UPDATE books SET available_copies = available_copies + ? WHERE book_id = ?",
+                args);
+    }
+
+    // ==================== [ Helpers ] ====================
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
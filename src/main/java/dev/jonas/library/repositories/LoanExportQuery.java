@@ -0,0 +1,103 @@
+package dev.jonas.library.repositories;
+
+import dev.jonas.library.dtos.loan.LoanExportRow;
+import dev.jonas.library.dtos.loan.LoanFilterDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams loans for export over a forward-only JDBC cursor.
+ * Rows are handed to the consumer one at a time and never collected, so memory use does not
+ * depend on how many loans match. Only the active filters are added to the WHERE clause.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoanExportQuery {
+
+    private static final String SELECT = """
+            SELECT l.loan_id, l.book_id, b.title, l.user_id, u.email,
+                   l.borrowed_date, l.due_date, l.returned_date
+            FROM loans l
+            JOIN books b ON b.book_id = l.book_id
+            JOIN users u ON u.user_id = l.user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${library.loans.export.fetch-size:500}")
+    private int fetchSize;
+
+    public void forEach(LoanFilterDTO filter, Consumer<LoanExportRow> consumer) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+
+        if (filter.userId() != null) {
+            conditions.add("l.user_id = ?");
+            params.add(filter.userId());
+        }
+        if (filter.bookId() != null) {
+            conditions.add("l.book_id = ?");
+            params.add(filter.bookId());
+        }
+        if (filter.from() != null) {
+            conditions.add("l.borrowed_date >= ?");
+            params.add(Date.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            conditions.add("l.borrowed_date <= ?");
+            params.add(Date.valueOf(filter.to()));
+        }
+        if (filter.returned() != null) {
+            conditions.add(filter.returned() ? "l.returned_date IS NOT NULL" : "l.returned_date IS NULL");
+        }
+        if (filter.overdueBefore() != null) {
+            conditions.add("l.due_date < ?");
+            params.add(Date.valueOf(filter.overdueBefore()));
+        }
+
+        String sql = SELECT
+                + (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + "\n")
+                + "ORDER BY l.loan_id";
+
+        PreparedStatementCreator statement = connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        };
+
+        jdbcTemplate.query(statement, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    private static LoanExportRow mapRow(ResultSet rs) throws SQLException {
+        return new LoanExportRow(
+                rs.getLong("loan_id"),
+                rs.getLong("book_id"),
+                rs.getString("title"),
+                rs.getLong("user_id"),
+                rs.getString("email"),
+                toLocalDate(rs.getDate("borrowed_date")),
+                toLocalDate(rs.getDate("due_date")),
+                toLocalDate(rs.getDate("returned_date"))
+        );
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+}
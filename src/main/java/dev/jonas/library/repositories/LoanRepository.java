@@ -2,12 +2,36 @@ package dev.jonas.library.repositories;
 
 import dev.jonas.library.entities.Loan;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 // ==================== [ Queries ] ====================
 @Repository
-public interface LoanRepository extends JpaRepository<Loan, Long> {
-    List<Loan> findByUser_userId(Long userId);
-}
\ No newline at end of file
+public interface LoanRepository extends JpaRepository<Loan, Long>, LoanRepositoryCustom {
+
+    // ==================== [ Loan History ] ====================
+    // Book, author and user are mapped into every LoanDTO, so they are joined in the same statement.
+    @Query("""
+            SELECT l FROM Loan l
+            JOIN FETCH l.book b
+            JOIN FETCH b.author
+            JOIN FETCH l.user u
+            WHERE u.userId = :userId
+            ORDER BY l.loanId
+            """)
+    List<Loan> findHistoryByUserId(@Param("userId") Long userId);
+
+    // Filters on the joined user directly, so no separate user lookup is needed.
+    @Query("""
+            SELECT l FROM Loan l
+            JOIN FETCH l.book b
+            JOIN FETCH b.author
+            JOIN FETCH l.user u
+            WHERE u.email = :email
+            ORDER BY l.loanId
+            """)
+    List<Loan> findHistoryByUserEmail(@Param("email") String email);
+}
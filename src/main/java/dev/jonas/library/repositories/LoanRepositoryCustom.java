@@ -0,0 +1,12 @@
+package dev.jonas.library.repositories;
+
+import dev.jonas.library.dtos.loan.LoanFilterDTO;
+import dev.jonas.library.entities.Loan;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+// ==================== [ Custom Queries ] ====================
+public interface LoanRepositoryCustom {
+    List<Loan> findLoansAfter(LoanFilterDTO filter, Long afterId, Limit limit);
+}
@@ -0,0 +1,69 @@
+package dev.jonas.library.repositories;
+
+import dev.jonas.library.dtos.loan.LoanFilterDTO;
+import dev.jonas.library.entities.Loan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtered keyset listing of loans. Only the active filters become predicates, so SQLite can pick
+ * the matching index ({@code (user_id, returned_date)}, {@code (book_id, returned_date)} or the partial
+ * active-loans index on {@code due_date}) instead of scanning past {@code ? IS NULL OR ...} terms.
+ */
+public class LoanRepositoryCustomImpl implements LoanRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Loan> findLoansAfter(LoanFilterDTO filter, Long afterId, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Loan> query = cb.createQuery(Loan.class);
+        Root<Loan> loan = query.from(Loan.class);
+
+        // Book, author and user are mapped into every LoanDTO, so they are loaded in the same statement.
+        Fetch<?, ?> book = loan.fetch("book");
+        book.fetch("author");
+        loan.fetch("user");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.userId() != null) {
+            predicates.add(cb.equal(loan.get("user").get("userId"), filter.userId()));
+        }
+        if (filter.bookId() != null) {
+            predicates.add(cb.equal(loan.get("book").get("bookId"), filter.bookId()));
+        }
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(loan.get("borrowedDate"), filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThanOrEqualTo(loan.get("borrowedDate"), filter.to()));
+        }
+        if (filter.returned() != null) {
+            predicates.add(filter.returned() ? cb.isNotNull(loan.get("returnedDate")) : cb.isNull(loan.get("returnedDate")));
+        }
+        if (filter.overdueBefore() != null) {
+            predicates.add(cb.lessThan(loan.get("dueDate"), filter.overdueBefore()));
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(loan.get("loanId"), afterId));
+        }
+
+        query.select(loan)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(loan.get("loanId")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+}
@@ -2,23 +2,50 @@ package dev.jonas.library.repositories;
 
 import dev.jonas.library.entities.RefreshToken;
 import dev.jonas.library.entities.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
-
     int deleteByUser(User user);
 
     List<RefreshToken> findAllByUser(User user);
 
     List<RefreshToken> findAllByExpiryDateBefore(LocalDateTime date);
 
-    boolean existsByToken(String token);
+    // One bounded chunk of ids for the sweeper to bulk-delete.
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.expiryDate < :now OR t.revoked = true ORDER BY t.id")
+    List<Long> findSweepableIds(@Param("now") LocalDateTime now, Limit limit);
+
+    // Sessions from before last_used_at existed have NULL, which sorts last here: they count as least recently used.
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.user.userId = :userId ORDER BY t.lastUsedAt DESC, t.id DESC")
+    List<Long> findIdsByUserIdMostRecentlyUsedFirst(@Param("userId") Long userId);
+
+    /**
+     * Replaces the session's secret only if it still holds {@code currentHash}, so a token can be
+     * consumed exactly once. Returns 0 when another refresh already rotated it.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE RefreshToken t
+               SET t.tokenHash = :newHash,
+                   t.expiryDate = :expiryDate,
+                   t.lastUsedAt = :now
+             WHERE t.id = :id
+               AND t.tokenHash = :currentHash
+               AND t.revoked = false
+            """)
+    int rotate(@Param("id") Long id,
+               @Param("currentHash") byte[] currentHash,
+               @Param("newHash") byte[] newHash,
+               @Param("expiryDate") LocalDateTime expiryDate,
+               @Param("now") LocalDateTime now);
 }
 
@@ -0,0 +1,42 @@
+package dev.jonas.library.repositories;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops a {@code refresh_tokens} table still in the old plaintext layout (a unique {@code token} column)
+ * so Hibernate's schema update recreates it with the digest columns. {@code ddl-auto=update} cannot do this
+ * itself: it only adds columns, and the old NOT NULL {@code token} column would reject every new insert.
+ * Stored sessions are not convertible (only digests are kept now), so their users simply log in again.
+ * Runs before the entity manager factory, i.e. before Hibernate inspects the schema.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenTableMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pragma_table_info('refresh_tokens') WHERE name = 'token'",
+                Integer.class);
+
+        if (legacyColumns != null && legacyColumns > 0) {
+            jdbcTemplate.execute("DROP TABLE refresh_tokens");
+            log.warn("Dropped legacy plaintext 'refresh_tokens' table; existing sessions must log in again");
+        }
+    }
+
+    @Component
+    static class RunBeforeHibernate extends EntityManagerFactoryDependsOnPostProcessor {
+        RunBeforeHibernate() {
+            super(RefreshTokenTableMigration.class);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package dev.jonas.library.repositories;
+
+import dev.jonas.library.entities.RetiredRefreshToken;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RetiredRefreshTokenRepository extends JpaRepository<RetiredRefreshToken, Long> {
+    boolean existsBySessionIdAndTokenHash(Long sessionId, byte[] tokenHash);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RetiredRefreshToken t WHERE t.sessionId IN :sessionIds")
+    int deleteBySessionIds(@Param("sessionIds") Collection<Long> sessionIds);
+
+    // One bounded chunk of ids for the sweeper to bulk-delete.
+    @Query("SELECT t.id FROM RetiredRefreshToken t WHERE t.retiredAt < :cutoff ORDER BY t.id")
+    List<Long> findSweepableIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+}
@@ -2,12 +2,19 @@ package dev.jonas.library.repositories;
 
 import dev.jonas.library.entities.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 // ==================== [ Queries ] ====================
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByRoleName(String roleName);
+
+    // Single round trip for a user's role names (replaces one findById per role).
+    @Query("SELECT r.roleName FROM UserRole ur JOIN ur.role r WHERE ur.userId = :userId")
+    List<String> findRoleNamesByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
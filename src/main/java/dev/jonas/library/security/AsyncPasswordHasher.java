@@ -0,0 +1,103 @@
+package dev.jonas.library.security;
+
+import dev.jonas.library.exceptions.security.PasswordHashingBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a dedicated, core-count-sized pool with a bounded queue,
+ * so a login burst cannot occupy every servlet worker.
+ * When the queue is full, work is rejected immediately with {@link PasswordHashingBusyException} (503).
+ * Pool usage is published as the {@code executor.*} metrics with {@code name=password-hashing}.
+ */
+@Component
+public class AsyncPasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    public AsyncPasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${library.security.password-hashing.threads:0}") int threads,
+            @Value("${library.security.password-hashing.queue-capacity:64}") int queueCapacity
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedDaemonThreads(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        new ExecutorServiceMetrics(executor, "password-hashing", List.of()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Checks the password and, when it matches but its encoding is outdated (older algorithm or
+     * lower cost), computes the replacement hash in the same task.
+     */
+    public CompletableFuture<Verification> verify(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new Verification(false, null);
+            }
+            String upgradedHash = passwordEncoder.upgradeEncoding(encodedPassword)
+                    ? passwordEncoder.encode(rawPassword)
+                    : null;
+            return new Verification(true, upgradedHash);
+        });
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public record Verification(boolean matches, String upgradedHash) {
+        public boolean needsUpgrade() {
+            return upgradedHash != null;
+        }
+    }
+
+    // ==================== [ Execution ] ====================
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Authentication service is busy, please retry shortly");
+        }
+    }
+
+    private static ThreadFactory namedDaemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
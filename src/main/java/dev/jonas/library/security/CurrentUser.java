@@ -0,0 +1,37 @@
+package dev.jonas.library.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * Snapshot of the authenticated caller (id, email, authorities), resolved once per request.
+ */
+@Getter
+@AllArgsConstructor
+public class CurrentUser {
+    private final Long userId;
+    private final String email;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public boolean isAdmin() {
+        return authorities.stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    /**
+     * Builds a snapshot from principals that already know their user id, otherwise {@code null}.
+     */
+    public static CurrentUser from(UserDetails userDetails) {
+        if (userDetails instanceof TokenUserDetails tokenUser) {
+            return new CurrentUser(tokenUser.getId(), tokenUser.getUsername(), tokenUser.getAuthorities());
+        }
+        if (userDetails instanceof CustomUserDetails customUser) {
+            return new CurrentUser(customUser.getId(), customUser.getUsername(), customUser.getAuthorities());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+package dev.jonas.library.security;
+
+import dev.jonas.library.entities.User;
+import dev.jonas.library.exceptions.security.AccessDeniedException;
+import dev.jonas.library.repositories.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Request-scoped holder for the {@link CurrentUser}.
+ * {@code JwtAuthFilter} fills it once per request; access checks and services read it
+ * instead of looking the caller up in {@link UserRepository} again.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserContext {
+
+    private static final String ATTRIBUTE = CurrentUserContext.class.getName() + ".CURRENT_USER";
+
+    private final UserRepository userRepository;
+
+    public void set(HttpServletRequest request, CurrentUser currentUser) {
+        request.setAttribute(ATTRIBUTE, currentUser);
+    }
+
+    /**
+     * Returns the caller, resolving (and memoizing for the rest of the request) if the filter did not set it.
+     */
+    public CurrentUser get() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof CurrentUser cached) {
+            return cached;
+        }
+
+        CurrentUser resolved = resolve();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, resolved, RequestAttributes.SCOPE_REQUEST);
+        }
+        return resolved;
+    }
+
+    // ==================== [ Resolution ] ====================
+    private CurrentUser resolve() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken) {
+            throw new AccessDeniedException("Authenticated user not found");
+        }
+
+        if (auth.getPrincipal() instanceof UserDetails userDetails) {
+            CurrentUser fromPrincipal = CurrentUser.from(userDetails);
+            if (fromPrincipal != null) {
+                return fromPrincipal;
+            }
+        }
+
+        // Principals without a user id (e.g. test users): one lookup, then memoized.
+        User user = userRepository.findByEmailIgnoreCase(auth.getName())
+                .orElseThrow(() -> new AccessDeniedException("Authenticated user not found"));
+        return new CurrentUser(user.getUserId(), user.getEmail(), auth.getAuthorities());
+    }
+}
@@ -1,39 +1,72 @@
 package dev.jonas.library.security;
 
-import io.github.bucket4j.Bandwidth;
+import dev.jonas.library.security.ratelimit.BucketStore;
+import dev.jonas.library.security.ratelimit.RateLimitPolicy;
+import dev.jonas.library.security.ratelimit.RateLimitPolicyResolver;
+import dev.jonas.library.security.ratelimit.RateLimitProperties;
 import io.github.bucket4j.Bucket;
-import jakarta.servlet.*;
+import io.github.bucket4j.ConsumptionProbe;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-@Order(1) // Ensure this filter runs before others
+/**
+ * Applies the configured rate-limit policy for the request's route.
+ * Registered inside the security chain after {@code JwtAuthFilter}, so authenticated callers
+ * are limited per user and anonymous callers per client IP.
+ * <p>
+ * The client IP is the socket peer unless that peer is a configured trusted proxy; only then are
+ * {@code X-Forwarded-For} and {@code X-Real-IP} read. Anyone else could set them to a new value on every
+ * request and get a fresh bucket each time.
+ */
 @Component
-public class RateLimitingFilter implements Filter {
+public class RateLimitingFilter extends OncePerRequestFilter {
 
-    private final Map<String, Bucket> bucketCache = new ConcurrentHashMap<>();
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
 
-    private Bucket createNewBucket() {
-        Bandwidth limit = Bandwidth.simple(10, Duration.ofMinutes(1));
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    private final BucketStore bucketStore;
+    private final RateLimitPolicyResolver policyResolver;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public RateLimitingFilter(BucketStore bucketStore, RateLimitPolicyResolver policyResolver, RateLimitProperties properties) {
+        this.bucketStore = bucketStore;
+        this.policyResolver = policyResolver;
+        this.trustedProxies = properties.getTrustedProxies().stream()
+                .filter(proxy -> !proxy.isBlank())
+                .map(IpAddressMatcher::new)
+                .toList();
     }
 
     private String getClientIdentifier(HttpServletRequest request) {
+        String peer = request.getRemoteAddr();
+        if (!isTrustedProxy(peer)) {
+            return peer;
+        }
+
+        // Each proxy appends the address it received the request from, so the client is the rightmost
+        // hop that is not one of our own proxies; anything left of it is whatever the client claimed.
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
+            String[] hops = xForwardedFor.split(",");
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (!hop.isEmpty() && !isTrustedProxy(hop)) {
+                    return hop;
+                }
+            }
         }
 
         String xRealIP = request.getHeader("X-Real-IP");
@@ -41,38 +74,51 @@ public class RateLimitingFilter implements Filter {
             return xRealIP;
         }
 
-        return request.getRemoteAddr();
+        return peer;
     }
 
-    @Override
-    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
-            throws IOException, ServletException {
+    private boolean isTrustedProxy(String address) {
+        try {
+            return trustedProxies.stream().anyMatch(proxy -> proxy.matches(address));
+        } catch (IllegalArgumentException e) {
+            return false; // not an IP address
+        }
+    }
 
-        HttpServletRequest httpRequest = (HttpServletRequest) request;
-        HttpServletResponse httpResponse = (HttpServletResponse) response;
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
 
-        // ==================== [ No Limit if Authenticated ] ====================
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         boolean isAuthenticated = auth != null && auth.isAuthenticated() &&
                 !(auth instanceof AnonymousAuthenticationToken);
 
-        if (isAuthenticated) {
+        // ==================== [ Resolve Policy ] ====================
+        RateLimitPolicy policy = policyResolver.resolve(request, isAuthenticated);
+        if (policy == null) {
             chain.doFilter(request, response);
             return;
         }
 
-        // ==================== [ Limit Unauthenticated Users ] ====================
-        String clientId = getClientIdentifier(httpRequest);
-        Bucket bucket = bucketCache.computeIfAbsent(clientId, k -> createNewBucket());
+        // ==================== [ Consume From Policy Bucket ] ====================
+        String clientId = isAuthenticated ? "user:" + auth.getName() : "ip:" + getClientIdentifier(request);
+        Bucket bucket = bucketStore.resolve(policy.getName() + ":" + clientId, policy::getConfiguration);
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
 
-        if (bucket.tryConsume(1)) {
+        response.setHeader(REMAINING_HEADER, String.valueOf(probe.getRemainingTokens()));
+
+        if (probe.isConsumed()) {
             chain.doFilter(request, response);
         } else {
-            httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            httpResponse.setContentType("application/json");
-            httpResponse.getWriter().write(
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+                    probe.getNanosToWaitForRefill() + TimeUnit.SECONDS.toNanos(1) - 1));
+
+            response.setHeader(RETRY_AFTER_HEADER, String.valueOf(retryAfterSeconds));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType("application/json");
+            response.getWriter().write(
                     "{\"error\":\"Rate limit exceeded\",\"message\":\"Too many requests. Please try again later.\"}"
             );
         }
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,13 @@
 package dev.jonas.library.security;
 
 import dev.jonas.library.security.jwt.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
+import dev.jonas.library.utils.BcryptCostCalibrator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,24 +17,53 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.Map;
+
 import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity()
 @RequiredArgsConstructor
+@Slf4j
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitingFilter rateLimitingFilter;
 
     // ==================== [ Password Encoder ] ====================
+    // New hashes are written as {bcrypt}...; legacy unprefixed BCrypt hashes still match
+    // and are flagged by upgradeEncoding() so they get rehashed on the next successful login.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${library.security.password-hashing.bcrypt-strength:10}") int strength,
+            @Value("${library.security.password-hashing.target-latency:0ms}") Duration targetLatency
+    ) {
+        if (!targetLatency.isZero()) {
+            strength = BcryptCostCalibrator.calibrate(targetLatency, strength);
+            log.info("Calibrated BCrypt cost to {} for a target hash latency of {}", strength, targetLatency);
+        }
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    // ==================== [ Rate Limiting ] ====================
+    // Runs inside the security chain (after JWT auth) only, not as a standalone servlet filter.
+    @Bean
+    public FilterRegistrationBean<RateLimitingFilter> rateLimitingFilterRegistration() {
+        FilterRegistrationBean<RateLimitingFilter> registration = new FilterRegistrationBean<>(rateLimitingFilter);
+        registration.setEnabled(false);
+        return registration;
     }
 
     // ==================== [ Filter Chain ] ====================
@@ -38,6 +72,8 @@ public class SecurityConfig {
         http
                 // ==================== [ Route Access ] ====================
                 .authorizeHttpRequests(authz -> authz
+                        // The original request was already authorized; the stateless async re-dispatch carries no context.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/books/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/authors/**").permitAll()
@@ -74,6 +110,9 @@ public class SecurityConfig {
                 // ==================== [ JWT Filter ] ====================
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
 
+                // ==================== [ Rate Limit Filter ] ====================
+                .addFilterAfter(rateLimitingFilter, JwtAuthFilter.class)
+
                 // ====================[ Exception Handling ] ====================
                 .exceptionHandling(ex -> ex
                         .authenticationEntryPoint((req, res, e) -> res.sendError(HttpServletResponse.SC_UNAUTHORIZED))
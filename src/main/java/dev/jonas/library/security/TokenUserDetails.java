@@ -0,0 +1,37 @@
+package dev.jonas.library.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * Principal built purely from verified access-token claims (stateless authentication).
+ * Carries no password and is never loaded from the database.
+ */
+@RequiredArgsConstructor
+public class TokenUserDetails implements UserDetails {
+    private final Long id;
+    private final String username;
+    private final Collection<GrantedAuthority> authorities;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,182 @@
+package dev.jonas.library.security.jwt;
+
+import dev.jonas.library.entities.RevokedAccessToken;
+import dev.jonas.library.repositories.RevokedAccessTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked access tokens, keyed by their {@code jti} claim.
+ * A Bloom filter answers "definitely not revoked" for almost every request without touching the
+ * exact set; only filter hits fall through to the map. Entries live until the token's own expiry,
+ * are persisted so revocations survive restarts, and are purged (and the filter rebuilt) periodically.
+ */
+@Component
+@Slf4j
+public class AccessTokenDenyList {
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final int expectedEntries;
+
+    // jti -> token expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile BloomFilter filter;
+
+    public AccessTokenDenyList(
+            RevokedAccessTokenRepository revokedAccessTokenRepository,
+            @Value("${library.jwt.deny-list.expected-entries:100000}") int expectedEntries
+    ) {
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.filter = new BloomFilter(expectedEntries);
+    }
+
+    @PostConstruct
+    void loadPersistedRevocations() {
+        synchronized (writeLock) {
+            for (RevokedAccessToken entry : revokedAccessTokenRepository.findAllByExpiresAtAfter(LocalDateTime.now())) {
+                revoked.put(entry.getJti(), toEpochMillis(entry.getExpiresAt()));
+            }
+            rebuildFilter();
+        }
+        log.info("Loaded {} access token revocation(s)", revoked.size());
+    }
+
+    // ==================== [ Hot Path ] ====================
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    // ==================== [ Revocation ] ====================
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || !expiresAt.isAfter(Instant.now())) {
+            return; // nothing to revoke, or already unusable
+        }
+
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault());
+        revokedAccessTokenRepository.save(new RevokedAccessToken(jti, expiry));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Publish only once the row commits; a write-pipeline group may still roll it back and replay.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(jti, expiresAt);
+                }
+            });
+        } else {
+            remember(jti, expiresAt);
+        }
+    }
+
+    private void remember(String jti, Instant expiresAt) {
+        synchronized (writeLock) {
+            revoked.put(jti, expiresAt.toEpochMilli());
+            filter.put(jti);
+        }
+    }
+
+    // ==================== [ Purge ] ====================
+    @Scheduled(fixedDelayString = "${library.jwt.deny-list.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (writeLock) {
+            if (revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+                rebuildFilter(); // Bloom filters cannot delete, so start from the remaining entries
+            }
+        }
+        revokedAccessTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    // Caller holds writeLock.
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size()));
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Fixed-size Bloom filter with a ~1% false-positive rate at the expected number of entries.
+     * Lookups hash the string's chars in place (no byte[] or iterator allocation); bits are
+     * published through an {@link AtomicLongArray} so readers need no lock.
+     */
+    private static final class BloomFilter {
+        private static final int HASH_FUNCTIONS = 7;
+        private static final int BITS_PER_ENTRY = 10;
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+
+        BloomFilter(int expectedEntries) {
+            int wordCount = Math.max(1, (int) (((long) expectedEntries * BITS_PER_ENTRY + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount * 64;
+        }
+
+        void put(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a over the UTF-16 chars, finished with a 64-bit avalanche mix.
+        private static long hash(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            return mix(h);
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package dev.jonas.library.security.jwt;
 
+import dev.jonas.library.security.CurrentUser;
+import dev.jonas.library.security.CurrentUserContext;
 import dev.jonas.library.services.auth.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +28,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private CurrentUserContext currentUserContext;
+
+    @Autowired
+    private AccessTokenDenyList accessTokenDenyList;
+
+    @Value("${library.security.stateless-auth:true}")
+    private boolean statelessAuth;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -33,7 +46,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
+        final Claims claims;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -42,19 +55,36 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
 
+        // ==================== [ Parse Once ] ====================
+        // One signature check + JSON parse per request; the claims are reused below.
         try {
-            username = jwtUtil.extractUsername(jwt);
+            claims = jwtUtil.parseClaims(jwt);
         } catch (Exception e) {
             // Token is invalid or expired, continue without authentication
             filterChain.doFilter(request, response);
             return;
         }
 
+        // ==================== [ Revocation Check ] ====================
+        if (accessTokenDenyList.isRevoked(claims.getId())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final String username = claims.getSubject();
+
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            // Stateless mode trusts the signed claims and nothing else: a token without a user id is not accepted.
+            UserDetails userDetails = statelessAuth
+                    ? jwtUtil.toUserDetails(claims)
+                    : this.userDetailsService.loadUserByUsername(username);
+            if (userDetails == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             // ==================== [ Validate Token ] ====================
-            if (jwtUtil.isTokenValid(jwt, userDetails)) {
+            if (jwtUtil.isTokenValid(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -62,6 +92,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                // Resolve the caller once; access checks and services read it from the request.
+                CurrentUser currentUser = CurrentUser.from(userDetails);
+                if (currentUser != null) {
+                    currentUserContext.set(request, currentUser);
+                }
             }
         }
 
@@ -0,0 +1,41 @@
+package dev.jonas.library.security.jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT key ring bound from {@code library.jwt.*}.
+ * Key material may be given inline (base64 / PEM) or as {@code file:/path/to/key.pem}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "library.jwt")
+public class JwtKeyProperties {
+
+    // kid used to sign new tokens; leave empty on verification-only nodes.
+    private String activeKeyId;
+
+    private List<KeyDefinition> keys = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class KeyDefinition {
+        private String id;
+
+        private SignatureAlgorithm algorithm = SignatureAlgorithm.HS256;
+
+        // HS256: base64-encoded secret of at least 256 bits.
+        private String secret;
+
+        // ES256: PKCS#8 private key (signing nodes only) and X.509 public key.
+        private String privateKey;
+        private String publicKey;
+    }
+}
@@ -0,0 +1,158 @@
+package dev.jonas.library.security.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Signing and verification keys for JWTs, identified by the {@code kid} header.
+ * Keys are decoded once at startup. Rotation: add the new key, switch {@code active-key-id} to it,
+ * and remove the old key once the tokens it signed have expired; both verify in the meantime.
+ * Without configured keys a random per-boot HS256 key is used (tokens do not survive restarts), but only
+ * under the {@code dev} or {@code test} profile; anywhere else startup fails instead.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private static final String EPHEMERAL_KEY_ID = "ephemeral";
+    private static final Profiles EPHEMERAL_KEY_PROFILES = Profiles.of("dev", "test");
+
+    private final Map<String, Key> verificationKeys = new HashMap<>();
+    private final String signingKeyId;
+    private final Key signingKey;
+    private final SignatureAlgorithm signingAlgorithm;
+
+    public JwtKeyRing(JwtKeyProperties properties, Environment environment) {
+        if (properties.getKeys().isEmpty()) {
+            if (!environment.acceptsProfiles(EPHEMERAL_KEY_PROFILES)) {
+                throw new IllegalStateException("No JWT keys configured (library.jwt.keys); "
+                        + "configure a key, or run with the dev or test profile to use a random per-boot key");
+            }
+            log.warn("No JWT keys configured (library.jwt.keys); using a random per-boot HS256 key");
+            this.signingKeyId = EPHEMERAL_KEY_ID;
+            this.signingKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+            this.signingAlgorithm = SignatureAlgorithm.HS256;
+            verificationKeys.put(EPHEMERAL_KEY_ID, signingKey);
+            return;
+        }
+
+        Map<String, Key> signingKeys = new HashMap<>();
+        Map<String, SignatureAlgorithm> algorithms = new HashMap<>();
+
+        for (JwtKeyProperties.KeyDefinition definition : properties.getKeys()) {
+            SignatureAlgorithm algorithm = definition.getAlgorithm();
+            algorithms.put(definition.getId(), algorithm);
+
+            switch (algorithm) {
+                case HS256 -> {
+                    Key secretKey = Keys.hmacShaKeyFor(decode(definition.getSecret()));
+                    verificationKeys.put(definition.getId(), secretKey);
+                    signingKeys.put(definition.getId(), secretKey);
+                }
+                case ES256 -> {
+                    verificationKeys.put(definition.getId(), ecKey(definition.getPublicKey(), false));
+                    if (definition.getPrivateKey() != null) {
+                        signingKeys.put(definition.getId(), ecKey(definition.getPrivateKey(), true));
+                    }
+                }
+                default -> throw new IllegalStateException("Unsupported JWT algorithm " + algorithm + " for key " + definition.getId());
+            }
+        }
+
+        String activeKeyId = properties.getActiveKeyId();
+        if (activeKeyId != null && !activeKeyId.isBlank() && !signingKeys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("Active JWT key '" + activeKeyId + "' is not configured with signing material");
+        }
+
+        this.signingKeyId = activeKeyId == null || activeKeyId.isBlank() ? null : activeKeyId;
+        this.signingKey = signingKeyId == null ? null : signingKeys.get(signingKeyId);
+        this.signingAlgorithm = signingKeyId == null ? null : algorithms.get(signingKeyId);
+
+        log.info("JWT key ring loaded: {} verification key(s), signing with {}",
+                verificationKeys.size(), signingKeyId == null ? "none (verification only)" : signingKeyId);
+    }
+
+    // ==================== [ Signing ] ====================
+    public String getSigningKeyId() {
+        requireSigningKey();
+        return signingKeyId;
+    }
+
+    public Key getSigningKey() {
+        requireSigningKey();
+        return signingKey;
+    }
+
+    public SignatureAlgorithm getSigningAlgorithm() {
+        requireSigningKey();
+        return signingAlgorithm;
+    }
+
+    private void requireSigningKey() {
+        if (signingKey == null) {
+            throw new IllegalStateException("This node has no active JWT signing key");
+        }
+    }
+
+    // ==================== [ Verification ] ====================
+    @Override
+    public Key resolveSigningKey(JwsHeader header, io.jsonwebtoken.Claims claims) {
+        Key key = header.getKeyId() == null ? null : verificationKeys.get(header.getKeyId());
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + header.getKeyId());
+        }
+        return key;
+    }
+
+    // ==================== [ Key Material ] ====================
+    private static Key ecKey(String material, boolean privateKey) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            byte[] encoded = decode(material);
+            return privateKey
+                    ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(encoded))
+                    : keyFactory.generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid EC key material", e);
+        }
+    }
+
+    // Accepts base64 or PEM, inline or via a "file:" path.
+    private static byte[] decode(String material) {
+        if (material == null || material.isBlank()) {
+            throw new IllegalStateException("Missing JWT key material");
+        }
+
+        String value = material;
+        if (value.startsWith("file:")) {
+            try {
+                value = Files.readString(Path.of(value.substring("file:".length())));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read JWT key file " + value, e);
+            }
+        }
+
+        String base64 = value.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -1,16 +1,24 @@
 package dev.jonas.library.security.jwt;
 
+import dev.jonas.library.security.CustomUserDetails;
+import dev.jonas.library.security.TokenUserDetails;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Utility class for generating and validating JWT tokens.
@@ -18,9 +26,26 @@ import java.util.List;
 @Component
 public class JwtUtil {
 
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private final JwtKeyRing keyRing;
 
-    private final long expirationTime = 1000 * 60 * 60;
+    // JwtParser is immutable and thread-safe, so one instance is shared by all requests.
+    // The key ring picks the verification key by the token's kid header.
+    private final JwtParser parser;
+
+    private static final String ROLES_CLAIM = "roles";
+    private static final String USER_ID_CLAIM = "uid";
+
+    // Kept short: with stateless authentication, expiry is what bounds a stale role set.
+    @Getter
+    @Value("${library.jwt.access-token-ttl:15m}")
+    private Duration accessTokenTtl;
+
+    public JwtUtil(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing)
+                .build();
+    }
 
     public String generateToken(UserDetails userDetails) {
         List<String> roles = userDetails.getAuthorities()
@@ -28,33 +53,77 @@ public class JwtUtil {
                 .map(GrantedAuthority::getAuthority)
                 .toList();
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // jti, the key for revocation
                 .setSubject(userDetails.getUsername())
-                .claim("roles", roles)
+                .claim(ROLES_CLAIM, roles)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(key)
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenTtl.toMillis()));
+
+        if (userDetails instanceof CustomUserDetails customUserDetails) {
+            builder.claim(USER_ID_CLAIM, customUserDetails.getId());
+        }
+
+        return builder
+                .setHeaderParam("kid", keyRing.getSigningKeyId())
+                .signWith(keyRing.getSigningKey(), keyRing.getSigningAlgorithm())
                 .compact();
     }
 
+    // ==================== [ Parsing ] ====================
+
+    /**
+     * Verifies the signature and expiry of a token and returns its claims.
+     * Parse once per request and pass the claims around instead of the raw token.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
     public String extractUsername(String token) {
-        return getClaims(token).getSubject();
+        return parseClaims(token).getSubject();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    public List<String> extractRoles(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return roles == null ? List.of() : roles.stream().map(String::valueOf).toList();
     }
 
-    private boolean isTokenExpired(String token) {
-        return getClaims(token).getExpiration().before(new Date());
+    public Long extractUserId(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        return userId instanceof Number number ? number.longValue() : null;
+    }
+
+    /**
+     * Builds the principal straight from verified claims, without touching the database.
+     * Returns {@code null} for tokens minted without a user id claim.
+     */
+    public TokenUserDetails toUserDetails(Claims claims) {
+        Long userId = extractUserId(claims);
+        if (userId == null) {
+            return null;
+        }
+
+        Collection<GrantedAuthority> authorities = extractRoles(claims)
+                .stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        return new TokenUserDetails(userId, claims.getSubject(), authorities);
+    }
+
+    // ==================== [ Validation ] ====================
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
+    }
+
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(parseClaims(token), userDetails);
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package dev.jonas.library.security.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+
+import java.util.function.Supplier;
+
+/**
+ * Storage for rate-limit buckets, keyed by client identifier.
+ * Implementations decide where bucket state lives (process memory, shared backend, ...).
+ */
+public interface BucketStore {
+
+    /**
+     * Returns the bucket for {@code key}, creating it from {@code configuration} on first use.
+     */
+    Bucket resolve(String key, Supplier<BucketConfiguration> configuration);
+}
@@ -0,0 +1,94 @@
+package dev.jonas.library.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimization;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Cluster-wide bucket store: bucket state lives in a shared JDBC table, so every node
+ * enforces the same limit and restarts do not reset it.
+ * Each node keeps a bounded cache of bucket proxies with a delaying optimization, so most
+ * requests consume tokens locally and only sync with the table every few tokens or millis.
+ * A node can therefore overshoot a limit by up to {@code max-unsynced-tokens}, which must stay well
+ * below the smallest policy capacity.
+ * <p>
+ * Rows idle for longer than the idle timeout (and never less than the longest policy period, after
+ * which any bucket is full again) are swept periodically, so the table does not grow with every client ever seen.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "library.rate-limit.store.mode", havingValue = "distributed")
+public class DistributedBucketStore implements BucketStore {
+
+    private final JdbcBucketProxyManager proxyManager;
+    private final Optimization optimization;
+    private final Cache<String, Bucket> proxies;
+    private final Duration idleRetention;
+    private final int sweepChunkSize;
+
+    public DistributedBucketStore(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            RateLimitProperties properties,
+            @Value("${library.rate-limit.store.max-size:100000}") long maxSize,
+            @Value("${library.rate-limit.store.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${library.rate-limit.store.sync.max-unsynced-tokens:1}") long maxUnsyncedTokens,
+            @Value("${library.rate-limit.store.sync.max-unsynced-time:500ms}") Duration maxUnsyncedTime,
+            @Value("${library.rate-limit.store.sweep-chunk-size:500}") int sweepChunkSize
+    ) {
+        this.proxyManager = new JdbcBucketProxyManager(jdbcTemplate);
+        this.proxyManager.createTableIfMissing();
+        this.optimization = Optimizations.delaying(new DelayParameters(maxUnsyncedTokens, maxUnsyncedTime));
+        this.proxies = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, proxies, "rate-limit-buckets");
+
+        Duration longestPeriod = properties.getPolicies().stream()
+                .map(RateLimitProperties.Policy::getPeriod)
+                .max(Duration::compareTo)
+                .orElse(Duration.ZERO);
+        this.idleRetention = idleTimeout.compareTo(longestPeriod) >= 0 ? idleTimeout : longestPeriod;
+        this.sweepChunkSize = Math.max(1, sweepChunkSize);
+
+        properties.getPolicies().stream()
+                .filter(policy -> policy.getCapacity() <= maxUnsyncedTokens)
+                .forEach(policy -> log.warn("Rate limit policy '{}' (capacity {}) is not above max-unsynced-tokens ({}); "
+                        + "nodes may overshoot it", policy.getName(), policy.getCapacity(), maxUnsyncedTokens));
+    }
+
+    @Override
+    public Bucket resolve(String key, Supplier<BucketConfiguration> configuration) {
+        return proxies.get(key, k -> proxyManager.builder()
+                .withOptimization(optimization)
+                .build(k, configuration));
+    }
+
+    // ==================== [ Idle Sweep ] ====================
+    @Scheduled(fixedDelayString = "${library.rate-limit.store.sweep-interval-ms:300000}")
+    public void sweepIdleBuckets() {
+        int removed = proxyManager.removeIdleBuckets(Instant.now().minus(idleRetention), sweepChunkSize);
+        if (removed > 0) {
+            log.info("Swept {} idle rate limit bucket(s)", removed);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package dev.jonas.library.security.ratelimit;
+
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bucket4j {@code ProxyManager} that keeps serialized bucket state in a plain JDBC table.
+ * Uses optimistic compare-and-swap on the state blob, so it needs no row locks and works
+ * on SQLite as well as on server databases that support {@code ON CONFLICT DO NOTHING}.
+ * Every write stamps {@code updated_at} (epoch millis) so idle rows can be swept.
+ */
+public class JdbcBucketProxyManager extends AbstractCompareAndSwapBasedProxyManager<String> {
+
+    public static final String TABLE = "rate_limit_buckets";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcBucketProxyManager(JdbcTemplate jdbcTemplate) {
+        super(ClientSideConfig.getDefault());
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createTableIfMissing() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE +
+                " (id VARCHAR(255) PRIMARY KEY, state BLOB NOT NULL, updated_at BIGINT NOT NULL DEFAULT 0)");
+        Boolean hasUpdatedAt = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet columns = connection.getMetaData().getColumns(null, null, TABLE, "updated_at")) {
+                return columns.next();
+            }
+        });
+        if (!Boolean.TRUE.equals(hasUpdatedAt)) {
+            // Table created before idle sweeping; its rows count as idle until next written.
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN updated_at BIGINT NOT NULL DEFAULT 0");
+        }
+    }
+
+    // ==================== [ Compare And Swap ] ====================
+    @Override
+    protected CompareAndSwapOperation beginCompareAndSwapOperation(String key) {
+        return new CompareAndSwapOperation() {
+            @Override
+            public Optional<byte[]> getStateData() {
+                List<byte[]> states = jdbcTemplate.query(
+                        "SELECT state FROM " + TABLE + " WHERE id = ?",
+                        (rs, rowNum) -> rs.getBytes("state"),
+                        key);
+                return states.stream().findFirst();
+            }
+
+            @Override
+            public boolean compareAndSwap(byte[] originalData, byte[] newData, RemoteBucketState newState) {
+                long now = System.currentTimeMillis();
+                if (originalData == null) {
+                    return jdbcTemplate.update(
+                            "INSERT INTO " + TABLE + " (id, state, updated_at) VALUES (?, ?, ?) ON CONFLICT(id) DO NOTHING",
+                            key, newData, now) == 1;
+                }
+                return jdbcTemplate.update(
+                        "UPDATE " + TABLE + " SET state = ?, updated_at = ? WHERE id = ? AND state = ?",
+                        newData, now, key, originalData) == 1;
+            }
+        };
+    }
+
+    @Override
+    public void removeProxy(String key) {
+        jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE id = ?", key);
+    }
+
+    // ==================== [ Idle Sweep ] ====================
+
+    /**
+     * Deletes rows not written since {@code cutoff}, at most {@code chunkSize} per statement so the
+     * write lock is never held for the whole table. Returns the number of rows removed.
+     */
+    public int removeIdleBuckets(Instant cutoff, int chunkSize) {
+        int removed = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM " + TABLE + " WHERE id IN (SELECT id FROM " + TABLE + " WHERE updated_at < ? LIMIT ?)",
+                    cutoff.toEpochMilli(), chunkSize);
+            removed += deleted;
+        } while (deleted == chunkSize);
+        return removed;
+    }
+
+    // ==================== [ Async (unsupported) ] ====================
+    @Override
+    public boolean isAsyncModeSupported() {
+        return false;
+    }
+
+    @Override
+    protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(String key) {
+        throw new UnsupportedOperationException("JDBC bucket storage is synchronous only");
+    }
+
+    @Override
+    protected CompletableFuture<Void> removeAsync(String key) {
+        throw new UnsupportedOperationException("JDBC bucket storage is synchronous only");
+    }
+}
@@ -0,0 +1,56 @@
+package dev.jonas.library.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * In-process bucket store with a hard size bound and idle-time eviction.
+ * Memory stays predictable no matter how many distinct (or spoofed) client keys arrive:
+ * the least recently used buckets are evicted first. Size and evictions are published
+ * as {@code cache.*} metrics with {@code cache=rate-limit-buckets}.
+ */
+@Component
+@ConditionalOnProperty(name = "library.rate-limit.store.mode", havingValue = "local", matchIfMissing = true)
+public class LocalBucketStore implements BucketStore {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalBucketStore(
+            MeterRegistry meterRegistry,
+            @Value("${library.rate-limit.store.max-size:100000}") long maxSize,
+            @Value("${library.rate-limit.store.idle-timeout:10m}") Duration idleTimeout
+    ) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit-buckets");
+    }
+
+    @Override
+    public Bucket resolve(String key, Supplier<BucketConfiguration> configuration) {
+        return buckets.get(key, k -> createBucket(configuration.get()));
+    }
+
+    private Bucket createBucket(BucketConfiguration configuration) {
+        LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+}
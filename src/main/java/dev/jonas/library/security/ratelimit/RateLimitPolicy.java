@@ -0,0 +1,55 @@
+package dev.jonas.library.security.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import lombok.Getter;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A compiled {@link RateLimitProperties.Policy}: path patterns are parsed and the bucket
+ * configuration is built once at startup, so matching a request costs no parsing or regex work.
+ */
+@Getter
+public class RateLimitPolicy {
+
+    private final String name;
+    private final Set<String> methods;
+    private final List<PathPattern> patterns;
+    private final RateLimitProperties.Audience audience;
+    private final BucketConfiguration configuration;
+
+    public RateLimitPolicy(RateLimitProperties.Policy policy) {
+        this.name = policy.getName();
+        this.methods = policy.getMethods().stream()
+                .map(method -> method.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.patterns = policy.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.audience = policy.getAudience();
+        this.configuration = BucketConfiguration.builder()
+                .addLimit(Bandwidth.simple(policy.getCapacity(), policy.getPeriod()))
+                .build();
+    }
+
+    public boolean matches(String method, PathContainer path, boolean authenticated) {
+        return matchesAudience(authenticated)
+                && (methods.isEmpty() || methods.contains(method))
+                && patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private boolean matchesAudience(boolean authenticated) {
+        return switch (audience) {
+            case ANY -> true;
+            case ANONYMOUS -> !authenticated;
+            case AUTHENTICATED -> authenticated;
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package dev.jonas.library.security.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Maps a request to the first configured {@link RateLimitPolicy} that applies to it.
+ */
+@Component
+public class RateLimitPolicyResolver {
+
+    private final List<RateLimitPolicy> policies;
+
+    public RateLimitPolicyResolver(RateLimitProperties properties) {
+        this.policies = properties.getPolicies()
+                .stream()
+                .map(RateLimitPolicy::new)
+                .toList();
+    }
+
+    /**
+     * Returns the matching policy, or {@code null} when the request is not rate limited.
+     */
+    public RateLimitPolicy resolve(HttpServletRequest request, boolean authenticated) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        PathContainer pathContainer = PathContainer.parsePath(path);
+
+        for (RateLimitPolicy policy : policies) {
+            if (policy.matches(request.getMethod(), pathContainer, authenticated)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+}
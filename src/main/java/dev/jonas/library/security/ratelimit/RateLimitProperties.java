@@ -0,0 +1,51 @@
+package dev.jonas.library.security.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate-limit policies bound from {@code library.rate-limit.policies[n].*}.
+ * Policies are evaluated in order; the first one matching method, path and audience applies.
+ * {@code library.rate-limit.trusted-proxies} lists the reverse proxies whose forwarding headers are believed.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "library.rate-limit")
+public class RateLimitProperties {
+
+    private List<Policy> policies = new ArrayList<>();
+
+    // Addresses or CIDR ranges, e.g. 10.0.0.5 or 10.0.0.0/8; empty means clients are identified by the socket peer.
+    private List<String> trustedProxies = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Policy {
+        private String name;
+
+        // HTTP methods this policy covers; empty means any method.
+        private List<String> methods = new ArrayList<>();
+
+        // Spring path patterns, e.g. /auth/login or /books/**.
+        private List<String> paths = new ArrayList<>();
+
+        private Audience audience = Audience.ANY;
+
+        private long capacity;
+
+        private Duration period = Duration.ofMinutes(1);
+    }
+
+    public enum Audience {
+        ANY,
+        ANONYMOUS,
+        AUTHENTICATED
+    }
+}
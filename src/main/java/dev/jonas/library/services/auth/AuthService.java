@@ -4,12 +4,14 @@ import dev.jonas.library.dtos.auth.AuthResponseDto;
 import dev.jonas.library.dtos.auth.LoginRequestDto;
 import dev.jonas.library.dtos.user.UserInputDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthService {
-    AuthResponseDto login(LoginRequestDto loginDto);
+    CompletableFuture<AuthResponseDto> login(LoginRequestDto loginDto);
 
-    AuthResponseDto register(UserInputDTO registerDto);
+    CompletableFuture<AuthResponseDto> register(UserInputDTO registerDto);
 
-    AuthResponseDto refresh(String oldRefreshToken);
+    CompletableFuture<AuthResponseDto> refresh(String oldRefreshToken);
 
-    void logoutAuthenticatedUser();
+    CompletableFuture<Void> logoutAuthenticatedUser(String accessToken);
 }
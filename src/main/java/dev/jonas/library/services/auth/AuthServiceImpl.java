@@ -16,22 +16,26 @@ import dev.jonas.library.mappers.RolesToAuthorityMapper;
 import dev.jonas.library.repositories.RoleRepository;
 import dev.jonas.library.repositories.UserRepository;
 import dev.jonas.library.repositories.UserRoleRepository;
+import dev.jonas.library.security.AsyncPasswordHasher;
 import dev.jonas.library.security.CustomUserDetails;
+import dev.jonas.library.security.jwt.AccessTokenDenyList;
 import dev.jonas.library.security.jwt.JwtUtil;
+import dev.jonas.library.services.write.WritePipeline;
 import dev.jonas.library.utils.EntityFetcher;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service implementation for authentication-related operations.
  * Handles user login, registration, token refreshing, and logout.
+ * Password hashing for login and registration runs on {@link AsyncPasswordHasher}, off the servlet thread.
  */
 @Service
 @RequiredArgsConstructor
@@ -41,17 +45,17 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final AsyncPasswordHasher passwordHasher;
     private final RefreshTokenService refreshTokenService;
     private final LoginAttemptService loginAttemptService;
     private final JwtUtil jwtUtil;
+    private final AccessTokenDenyList accessTokenDenyList;
     private final RolesToAuthorityMapper rolesToAuthorityMapper;
-
-    private final Duration accessTokenDuration = Duration.ofHours(1);
+    private final WritePipeline writePipeline;
 
     // ========== [ Login ] ==========
     @Override
-    public AuthResponseDto login(LoginRequestDto loginDto) {
+    public CompletableFuture<AuthResponseDto> login(LoginRequestDto loginDto) {
         User user = EntityFetcher.getUserOrThrow(loginDto.getEmail(), userRepository);
         LocalDateTime timestamp = LocalDateTime.now();
 
@@ -60,22 +64,36 @@ public class AuthServiceImpl implements AuthService {
             throw new AccountLockedException("Account is temporarily locked until " + user.getLockedUntil());
         }
 
-        if (!passwordEncoder.matches(loginDto.getPassword(), user.getPassword())) {
-            loginAttemptService.recordFailedAttempt(user);
-            log.warn("Failed login attempt for email '{}' at {}", loginDto.getEmail(), timestamp);
-            throw new InvalidCredentialsException("Invalid email or password");
-        }
-
-        loginAttemptService.reset(user);
-
-        log.info("User '{}' logged in successfully at {}", user.getEmail(), timestamp);
-
-        return generateAuthTokensForUser(user);
+        return passwordHasher
+                .verify(loginDto.getPassword(), user.getPassword())
+                .thenCompose(verification -> {
+                    if (!verification.matches()) {
+                        loginAttemptService.recordFailedAttempt(user);
+                        log.warn("Failed login attempt for email '{}' at {}", loginDto.getEmail(), timestamp);
+                        throw new InvalidCredentialsException("Invalid email or password");
+                    }
+
+                    loginAttemptService.reset(user);
+
+                    // Hash upgrade and refresh token are written together on the writer thread.
+                    return writePipeline.submit(() -> {
+                        if (verification.needsUpgrade()) {
+                            user.setPassword(verification.upgradedHash());
+                            userRepository.save(user);
+                            log.info("Upgraded password hash for user '{}'", user.getEmail());
+                        }
+                        return generateAuthTokensForUser(user);
+                    });
+                })
+                .thenApply(response -> {
+                    log.info("User '{}' logged in successfully at {}", user.getEmail(), timestamp);
+                    return response;
+                });
     }
 
     // ========== [ Register ] ==========
     @Override
-    public AuthResponseDto register(UserInputDTO registerDto) {
+    public CompletableFuture<AuthResponseDto> register(UserInputDTO registerDto) {
         boolean exists = userRepository.findByEmailIgnoreCase(registerDto.getEmail()).isPresent();
 
         if (exists) {
@@ -83,67 +101,90 @@ public class AuthServiceImpl implements AuthService {
             throw new EmailAlreadyUsedException("Email is already taken");
         }
 
-        User user = DtoToEntityMapper.mapToUserEntity(registerDto);
-
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-
-        User savedUser = userRepository.save(user);
-
-        Role role = EntityFetcher.getRoleOrThrow("USER", roleRepository);
-        UserRole userRole = new UserRole(savedUser.getUserId(), role.getRoleId());
-        userRoleRepository.save(userRole);
-
-        log.info("New user '{}' registered successfully at {}", savedUser.getEmail(), LocalDateTime.now());
-
-        return generateAuthTokensForUser(savedUser);
+        return passwordHasher
+                .encode(registerDto.getPassword())
+                .thenCompose(encodedPassword -> writePipeline.submit(() -> {
+                    // Built inside the work: a replay after a group rollback must start from a fresh entity,
+                    // not one still carrying the id of the rolled-back insert.
+                    User user = DtoToEntityMapper.mapToUserEntity(registerDto);
+                    user.setPassword(encodedPassword);
+
+                    User savedUser = userRepository.save(user);
+
+                    Role role = EntityFetcher.getRoleOrThrow("USER", roleRepository);
+                    UserRole userRole = new UserRole(savedUser.getUserId(), role.getRoleId());
+                    userRoleRepository.save(userRole);
+
+                    return generateAuthTokensForUser(savedUser);
+                }))
+                .thenApply(response -> {
+                    log.info("New user '{}' registered successfully at {}", registerDto.getEmail(), LocalDateTime.now());
+                    return response;
+                });
     }
 
     // ========== [ Refresh Token ] ==========
     @Override
-    public AuthResponseDto refresh(String oldRefreshToken) {
+    public CompletableFuture<AuthResponseDto> refresh(String oldRefreshToken) {
         LocalDateTime timestamp = LocalDateTime.now();
-        try {
-            RefreshToken storedToken = refreshTokenService.validateAndGetToken(oldRefreshToken);
-            User user = storedToken.getUser();
-
-            log.info("Refresh token used successfully by user '{}' at {}", user.getEmail(), timestamp);
 
-            return generateAuthTokensForUser(user);
-        } catch (Exception e) {
-            log.warn("Failed refresh token attempt at {}: {}", timestamp, e.getMessage());
-            throw e; // rethrow to let your global handler catch it
-        }
+        // Validation and rotation run as one write; a detected reuse still commits the revoked session.
+        return writePipeline.submit(() -> {
+                    RefreshToken storedToken = refreshTokenService.validateAndGetToken(oldRefreshToken);
+                    User user = storedToken.getUser();
+                    String rotatedRefreshToken = refreshTokenService.rotateRefreshToken(storedToken);
+
+                    log.info("Refresh token used successfully by user '{}' at {}", user.getEmail(), timestamp);
+
+                    return generateAuthTokens(user, rotatedRefreshToken);
+                }, InvalidCredentialsException.class)
+                .whenComplete((response, failure) -> {
+                    if (failure != null) {
+                        log.warn("Failed refresh token attempt at {}: {}", timestamp, failure.getMessage());
+                    }
+                });
     }
 
     @Override
-    public void logoutAuthenticatedUser() {
+    public CompletableFuture<Void> logoutAuthenticatedUser(String accessToken) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         LocalDateTime timestamp = LocalDateTime.now();
 
+        User user;
         try {
-            User user = EntityFetcher.getUserOrThrow(email, userRepository);
-            refreshTokenService.revokeAllTokensForUser(user);
-
-            log.info("User '{}' logged out successfully at {}", user.getEmail(), timestamp);
-
+            user = EntityFetcher.getUserOrThrow(email, userRepository);
         } catch (UserNotFoundException e) {
             log.warn("Logout attempt failed: no authenticated user found at {}", timestamp);
             throw e;
         }
+
+        // The access token would otherwise stay usable until it expires.
+        Claims claims = jwtUtil.parseClaims(accessToken);
+
+        // Sessions and the deny-list entry are written together on the writer thread.
+        return writePipeline.<Void>submit(() -> {
+                    refreshTokenService.revokeAllTokensForUser(user);
+                    accessTokenDenyList.revoke(claims.getId(), claims.getExpiration().toInstant());
+                    return null;
+                })
+                .thenRun(() -> log.info("User '{}' logged out successfully at {}", user.getEmail(), timestamp));
     }
 
     // ========== [ Helper Methods ] ==========
     private AuthResponseDto generateAuthTokensForUser(User user) {
+        return generateAuthTokens(user, refreshTokenService.createRefreshToken(user));
+    }
+
+    private AuthResponseDto generateAuthTokens(User user, String refreshToken) {
         UserDetails userDetails = new CustomUserDetails(
                 user,
                 rolesToAuthorityMapper.mapRolesToAuthorities(user.getUserId())
         );
 
         String accessToken = jwtUtil.generateToken(userDetails);
-        String refreshToken = refreshTokenService.createRefreshToken(user).getToken();
 
         return new AuthResponseDto(
-                LocalDateTime.now().plus(accessTokenDuration),
+                LocalDateTime.now().plus(jwtUtil.getAccessTokenTtl()),
                 accessToken,
                 refreshToken
         );
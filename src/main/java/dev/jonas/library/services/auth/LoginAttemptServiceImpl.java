@@ -1,46 +1,131 @@
 package dev.jonas.library.services.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import dev.jonas.library.entities.User;
-import dev.jonas.library.repositories.UserRepository;
-import lombok.RequiredArgsConstructor;
+import dev.jonas.library.utils.LocalDateTimeConverter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service to handle login attempts and account locking.
+ * Failure counters live in memory; only state transitions (becoming locked, being cleared)
+ * are persisted, queued and written in batches so logins do not each take SQLite's write lock.
+ * The persisted {@code lockedUntil} keeps lockouts in force across restarts.
  */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class LoginAttemptServiceImpl implements LoginAttemptService {
     private static final int maxFailedAttempts = 5;
     private static final Duration lockoutDuration = Duration.ofMinutes(15);
+    private static final Duration counterRetention = Duration.ofHours(24);
 
-    private final UserRepository userRepository;
+    private static final String UPDATE_LOCK_STATE =
+            "UPDATE users SET failed_login_attempts = ?, locked_until = ? WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LocalDateTimeConverter dateTimeConverter = new LocalDateTimeConverter();
+
+    // In-memory failure counters per user id.
+    private final Cache<Long, AttemptState> attempts = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(counterRetention)
+            .build();
+
+    // Latest unpersisted state transition per user id.
+    private final Map<Long, AttemptState> pendingWrites = new ConcurrentHashMap<>();
+
+    public LoginAttemptServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
 
     @Override
     public boolean isLocked(User user) {
-        return user.getLockedUntil() != null && user.getLockedUntil().isAfter(LocalDateTime.now());
+        AttemptState state = attempts.getIfPresent(user.getUserId());
+        LocalDateTime now = LocalDateTime.now();
+
+        return isAfter(user.getLockedUntil(), now) || (state != null && isAfter(state.lockedUntil(), now));
     }
 
     @Override
     public void recordFailedAttempt(User user) {
-        long newCount = user.getFailedLoginAttempts() + 1;
-        user.setFailedLoginAttempts(newCount);
+        AttemptState state = attempts.asMap().compute(user.getUserId(), (id, current) -> {
+            long newCount = (current != null ? current.failedAttempts() : user.getFailedLoginAttempts()) + 1;
+            LocalDateTime lockedUntil = newCount >= maxFailedAttempts
+                    ? LocalDateTime.now().plus(lockoutDuration)
+                    : null;
+            return new AttemptState(newCount, lockedUntil);
+        });
 
-        if (newCount >= maxFailedAttempts) {
-            user.setLockedUntil(LocalDateTime.now().plus(lockoutDuration));
+        if (state.lockedUntil() != null) {
+            user.setFailedLoginAttempts(state.failedAttempts());
+            user.setLockedUntil(state.lockedUntil());
+            pendingWrites.put(user.getUserId(), state);
         }
-
-        userRepository.save(user);
     }
 
     @Override
     public void reset(User user) {
+        attempts.invalidate(user.getUserId());
+
+        boolean persistedDirty = user.getFailedLoginAttempts() != 0 || user.getLockedUntil() != null;
+        if (!persistedDirty && !pendingWrites.containsKey(user.getUserId())) {
+            return; // nothing stored to clear
+        }
+
         user.setFailedLoginAttempts(0);
         user.setLockedUntil(null);
-        userRepository.save(user);
+        pendingWrites.put(user.getUserId(), AttemptState.CLEARED);
     }
-}
 
+    // ==================== [ Write-Behind ] ====================
+    @Scheduled(fixedDelayString = "${library.security.login-attempts.flush-interval-ms:1000}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, AttemptState> entry : pendingWrites.entrySet()) {
+            AttemptState state = entry.getValue();
+            // Only drop the entry if no newer transition replaced it meanwhile.
+            if (pendingWrites.remove(entry.getKey(), state)) {
+                batch.add(new Object[]{
+                        state.failedAttempts(),
+                        dateTimeConverter.convertToDatabaseColumn(state.lockedUntil()),
+                        entry.getKey()
+                });
+            }
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(UPDATE_LOCK_STATE, batch));
+        log.debug("Persisted {} login lock state change(s)", batch.size());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    // ==================== [ Helpers ] ====================
+    private static boolean isAfter(LocalDateTime lockedUntil, LocalDateTime now) {
+        return lockedUntil != null && lockedUntil.isAfter(now);
+    }
+
+    private record AttemptState(long failedAttempts, LocalDateTime lockedUntil) {
+        static final AttemptState CLEARED = new AttemptState(0, null);
+    }
+}
@@ -7,7 +7,11 @@ import java.util.Optional;
 
 public interface RefreshTokenService {
 
-    RefreshToken createRefreshToken(User user);
+    /**
+     * Issues a new refresh token and returns its opaque value ({@code <id>.<secret>}).
+     * Only a digest of the secret is stored.
+     */
+    String createRefreshToken(User user);
 
     Optional<RefreshToken> findByToken(String token);
 
@@ -15,8 +19,16 @@ public interface RefreshTokenService {
 
     long deleteByUserId(Long userId);
 
+    /**
+     * Returns the session the token belongs to. Presenting an already rotated token revokes the session.
+     */
     RefreshToken validateAndGetToken(String token);
 
+    /**
+     * Consumes the session's current token and returns its replacement.
+     */
+    String rotateRefreshToken(RefreshToken current);
+
     void deleteToken(RefreshToken token);
 
     void revokeAllTokensForUser(User user);
@@ -1,85 +1,258 @@
 package dev.jonas.library.services.auth;
 
 import dev.jonas.library.entities.RefreshToken;
+import dev.jonas.library.entities.RetiredRefreshToken;
 import dev.jonas.library.entities.User;
+import dev.jonas.library.exceptions.security.InvalidCredentialsException;
 import dev.jonas.library.exceptions.security.TokenExpiredException;
 import dev.jonas.library.repositories.RefreshTokenRepository;
+import dev.jonas.library.repositories.RetiredRefreshTokenRepository;
 import dev.jonas.library.repositories.UserRepository;
 import dev.jonas.library.utils.EntityFetcher;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 /**
  * Service implementation for managing refresh tokens.
+ * Tokens are handed out as {@code <id>.<secret>}: the id is the primary key used for lookup,
+ * and the secret is checked against its stored SHA-256 digest with a constant-time compare.
+ * Each row is one session whose secret rotates on every refresh. Every digest a session rotates away from
+ * is kept as a {@link RetiredRefreshToken}, so presenting any earlier token of the family revokes the session.
+ * The number of sessions per user is capped, evicting the least recently used.
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RetiredRefreshTokenRepository retiredRefreshTokenRepository;
     private final UserRepository userRepository;
 
+    private static final int SECRET_BYTES = 32;
+    private static final SecureRandom secureRandom = new SecureRandom();
+    private static final Base64.Encoder secretEncoder = Base64.getUrlEncoder().withoutPadding();
+
     private final Duration refreshTokenDuration = Duration.ofDays(7);
 
+    @Value("${library.security.refresh-tokens.max-per-user:5}")
+    private int maxSessionsPerUser;
+
+    @Value("${library.security.refresh-token-sweeper.chunk-size:500}")
+    private int sweepChunkSize;
+
+    @Value("${library.security.refresh-token-sweeper.chunk-pause:50ms}")
+    private Duration sweepChunkPause;
+
     @Override
-    public RefreshToken createRefreshToken(User user) {
+    @Transactional
+    public String createRefreshToken(User user) {
+        String secret = newSecret();
+
+        LocalDateTime now = LocalDateTime.now();
+
         RefreshToken token = new RefreshToken();
         token.setUser(user);
-        token.setExpiryDate(LocalDateTime.now().plus(refreshTokenDuration));
-        token.setToken(UUID.randomUUID().toString());
+        token.setExpiryDate(now.plus(refreshTokenDuration));
+        token.setLastUsedAt(now);
+        token.setTokenHash(sha256(secret));
 
-        return refreshTokenRepository.save(token);
+        RefreshToken saved = refreshTokenRepository.save(token);
+        evictSessionsOverCap(user.getUserId());
+
+        return saved.getId() + "." + secret;
     }
 
     @Override
     public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        return parse(token).flatMap(parsed -> refreshTokenRepository.findById(parsed.id())
+                .filter(rt -> MessageDigest.isEqual(rt.getTokenHash(), parsed.hash())));
     }
 
     @Override
     public RefreshToken verifyExpiration(RefreshToken token) {
         if (token.getExpiryDate().isBefore(LocalDateTime.now())) {
-            refreshTokenRepository.delete(token);
+            deleteToken(token);
             throw new TokenExpiredException("Refresh token has expired.");
         }
         return token;
     }
 
     @Override
+    @Transactional
     public long deleteByUserId(Long userId) {
         User user = EntityFetcher.getUserOrThrow(userId, userRepository);
-        return refreshTokenRepository.deleteByUser(user);
+        return deleteSessionsOf(user);
     }
 
     @Override
+    @Transactional(dontRollbackOn = InvalidCredentialsException.class)
     public RefreshToken validateAndGetToken(String token) {
-        return refreshTokenRepository.findByToken(token)
-                .filter(rt -> rt.getExpiryDate().isAfter(LocalDateTime.now()))
-                .orElseThrow(() -> new RuntimeException("Invalid or expired refresh token"));
+        ParsedToken parsed = parse(token).orElseThrow(RefreshTokenServiceImpl::invalidToken);
+        RefreshToken stored = refreshTokenRepository.findById(parsed.id()).orElseThrow(RefreshTokenServiceImpl::invalidToken);
+
+        if (MessageDigest.isEqual(stored.getTokenHash(), parsed.hash())) {
+            if (stored.isRevoked() || !stored.getExpiryDate().isAfter(LocalDateTime.now())) {
+                throw invalidToken();
+            }
+            return stored;
+        }
+
+        if (retiredRefreshTokenRepository.existsBySessionIdAndTokenHash(stored.getId(), parsed.hash())) {
+            revokeSession(stored.getId());
+            throw new InvalidCredentialsException("Refresh token reuse detected; session revoked");
+        }
+
+        throw invalidToken();
     }
 
     @Override
+    @Transactional(dontRollbackOn = InvalidCredentialsException.class)
+    public String rotateRefreshToken(RefreshToken current) {
+        String secret = newSecret();
+        LocalDateTime now = LocalDateTime.now();
+        int rotated = refreshTokenRepository.rotate(
+                current.getId(),
+                current.getTokenHash(),
+                sha256(secret),
+                now.plus(refreshTokenDuration),
+                now
+        );
+
+        if (rotated == 0) {
+            // Someone else consumed this token between validation and rotation.
+            revokeSession(current.getId());
+            throw new InvalidCredentialsException("Refresh token reuse detected; session revoked");
+        }
+
+        retiredRefreshTokenRepository.save(new RetiredRefreshToken(current.getId(), current.getTokenHash(), now));
+        return current.getId() + "." + secret;
+    }
+
+    @Override
+    @Transactional
     public void deleteToken(RefreshToken token) {
+        retiredRefreshTokenRepository.deleteBySessionIds(List.of(token.getId()));
         refreshTokenRepository.delete(token);
     }
 
     @Override
     @Transactional
     public void revokeAllTokensForUser(User user) {
-        refreshTokenRepository.deleteByUser(user);
+        deleteSessionsOf(user);
     }
 
+    /**
+     * Deletes expired and revoked sessions, then retired digests older than a refresh token lifetime,
+     * in bounded chunks. Each chunk is a bulk DELETE in its own short transaction, with a pause between
+     * chunks so foreground writers can take the write lock.
+     */
     @Override
     public int deleteAllExpiredTokens() {
-        List<RefreshToken> expiredTokens = refreshTokenRepository.findAllByExpiryDateBefore(LocalDateTime.now());
-        refreshTokenRepository.deleteAll(expiredTokens);
-        return expiredTokens.size();
+        LocalDateTime now = LocalDateTime.now();
+        int removed = 0;
+        List<Long> ids;
+
+        do {
+            ids = refreshTokenRepository.findSweepableIds(now, Limit.of(sweepChunkSize));
+            if (!ids.isEmpty()) {
+                deleteSessions(ids);
+                removed += ids.size();
+                pauseBetweenChunks();
+            }
+        } while (ids.size() == sweepChunkSize);
+
+        LocalDateTime retiredCutoff = now.minus(refreshTokenDuration);
+        do {
+            ids = retiredRefreshTokenRepository.findSweepableIds(retiredCutoff, Limit.of(sweepChunkSize));
+            if (!ids.isEmpty()) {
+                retiredRefreshTokenRepository.deleteAllByIdInBatch(ids);
+                removed += ids.size();
+                pauseBetweenChunks();
+            }
+        } while (ids.size() == sweepChunkSize);
+
+        return removed;
+    }
+
+    // ========== [ Helper Methods ] ==========
+    private void evictSessionsOverCap(Long userId) {
+        List<Long> ids = refreshTokenRepository.findIdsByUserIdMostRecentlyUsedFirst(userId);
+        if (ids.size() > maxSessionsPerUser) {
+            deleteSessions(ids.subList(maxSessionsPerUser, ids.size()));
+        }
+    }
+
+    private long deleteSessionsOf(User user) {
+        retiredRefreshTokenRepository.deleteBySessionIds(refreshTokenRepository.findIdsByUserIdMostRecentlyUsedFirst(user.getUserId()));
+        return refreshTokenRepository.deleteByUser(user);
+    }
+
+    // A session's retired digests go with it.
+    private void deleteSessions(List<Long> ids) {
+        retiredRefreshTokenRepository.deleteBySessionIds(ids);
+        refreshTokenRepository.deleteAllByIdInBatch(ids);
+    }
+
+    private void revokeSession(Long id) {
+        deleteSessions(List.of(id));
+        log.warn("Refresh token reuse detected for session {}; session revoked", id);
+    }
+
+    private static InvalidCredentialsException invalidToken() {
+        return new InvalidCredentialsException("Invalid or expired refresh token");
+    }
+
+    private static Optional<ParsedToken> parse(String token) {
+        int separator = token == null ? -1 : token.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+
+        try {
+            Long id = Long.valueOf(token.substring(0, separator));
+            return Optional.of(new ParsedToken(id, sha256(token.substring(separator + 1))));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String newSecret() {
+        byte[] secretBytes = new byte[SECRET_BYTES];
+        secureRandom.nextBytes(secretBytes);
+        return secretEncoder.encodeToString(secretBytes);
+    }
+
+    private void pauseBetweenChunks() {
+        try {
+            Thread.sleep(sweepChunkPause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record ParsedToken(Long id, byte[] hash) {
     }
-}
\ No newline at end of file
+}
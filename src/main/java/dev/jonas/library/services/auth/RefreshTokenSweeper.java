@@ -0,0 +1,40 @@
+package dev.jonas.library.services.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically removes expired and revoked refresh tokens.
+ * Removed rows are logged and counted in the {@code refresh_tokens.swept} metric.
+ */
+@Component
+@Slf4j
+public class RefreshTokenSweeper {
+
+    private final RefreshTokenService refreshTokenService;
+    private final Counter sweptTokens;
+
+    public RefreshTokenSweeper(RefreshTokenService refreshTokenService, MeterRegistry meterRegistry) {
+        this.refreshTokenService = refreshTokenService;
+        this.sweptTokens = Counter.builder("refresh_tokens.swept")
+                .description("Expired or revoked refresh tokens deleted by the sweeper")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${library.security.refresh-token-sweeper.initial-delay-ms:60000}",
+            fixedDelayString = "${library.security.refresh-token-sweeper.interval-ms:3600000}"
+    )
+    public void sweep() {
+        long start = System.nanoTime();
+        int removed = refreshTokenService.deleteAllExpiredTokens();
+        sweptTokens.increment(removed);
+
+        if (removed > 0) {
+            log.info("Refresh token sweep removed {} row(s) in {} ms", removed, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
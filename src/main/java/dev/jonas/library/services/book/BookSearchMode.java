@@ -0,0 +1,13 @@
+package dev.jonas.library.services.book;
+
+/**
+ * Strategy used for title/author book searches.
+ * Configured through {@code library.books.search-mode}.
+ */
+public enum BookSearchMode {
+    // Ranked, prefix-matching search backed by the SQLite FTS5 index.
+    FULL_TEXT,
+
+    // Substring matching with LOWER(...) LIKE '%x%' (full table scan).
+    LIKE
+}
@@ -2,6 +2,7 @@ package dev.jonas.library.services.book;
 
 import dev.jonas.library.dtos.book.BookDetailsDTO;
 import dev.jonas.library.dtos.book.BookInputDTO;
+import dev.jonas.library.dtos.book.BookSliceDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -10,6 +11,8 @@ import java.util.List;
 public interface BookService {
     Page<BookDetailsDTO> getBooksFilteredAndPaged(String title, String author, Pageable pageable);
 
+    BookSliceDTO getBooksAfterCursor(String title, String author, String after, int size);
+
     List<BookDetailsDTO> searchBooksSimple(String title, String author);
 
     BookDetailsDTO addBook(BookInputDTO dto);
@@ -2,17 +2,25 @@ package dev.jonas.library.services.book;
 
 import dev.jonas.library.dtos.book.BookDetailsDTO;
 import dev.jonas.library.dtos.book.BookInputDTO;
+import dev.jonas.library.dtos.book.BookSliceDTO;
 import dev.jonas.library.entities.Author;
 import dev.jonas.library.entities.Book;
+import dev.jonas.library.exceptions.api.BookNotFoundException;
 import dev.jonas.library.exceptions.api.BookUnavailableException;
 import dev.jonas.library.mappers.DtoToEntityMapper;
 import dev.jonas.library.mappers.EntityToDtoMapper;
 import dev.jonas.library.repositories.AuthorRepository;
 import dev.jonas.library.repositories.BookRepository;
+import dev.jonas.library.utils.BookCursor;
 import dev.jonas.library.utils.EntityFetcher;
+import dev.jonas.library.utils.FullTextQueryBuilder;
 import dev.jonas.library.utils.InputValidator;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -26,36 +34,77 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
+    private static final int MAX_SLICE_SIZE = 100;
+
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
 
+    @Value("${library.books.search-mode:FULL_TEXT}")
+    private BookSearchMode searchMode;
+
     // ========== [ GET ] ==========
+    // Catalog reads use DTO projections: no entities are hydrated, so there is nothing to flush or dirty-check.
     @Override
     public Page<BookDetailsDTO> getBooksFilteredAndPaged(String title, String author, Pageable pageable) {
         boolean isTitleBlank = (title == null || title.isBlank());
         boolean isAuthorBlank = (author == null || author.isBlank());
 
-        Page<Book> books;
-
         if (isTitleBlank && isAuthorBlank) {
-            books = bookRepository.findAll(pageable);
+            return bookRepository.findAllDetails(pageable);
+        }
+
+        String query = toFullTextQuery(title, author);
+        if (query != null) {
+            // Results are ordered by relevance, so any client-supplied sort is dropped.
+            Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            return bookRepository.fullTextSearchPaged(query, unsorted)
+                    .map(EntityToDtoMapper::mapToBookDetailsDtoFromView);
+        }
+
+        return bookRepository.searchBookDetailsPaged(title, author, pageable);
+    }
+
+    @Override
+    public BookSliceDTO getBooksAfterCursor(String title, String author, String after, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+        String titleFilter = (title == null || title.isBlank()) ? null : title;
+        String authorFilter = (author == null || author.isBlank()) ? null : author;
+
+        // Fetch one extra row to learn whether another slice follows, without a count query.
+        List<BookDetailsDTO> books;
+        if (after == null || after.isBlank()) {
+            books = bookRepository.findBooksFirst(titleFilter, authorFilter, Limit.of(limit + 1));
         } else {
-            books = bookRepository.searchBooksPaged(title, author, pageable);
+            BookCursor cursor = BookCursor.decode(after);
+            books = bookRepository.findBooksAfter(
+                    titleFilter, authorFilter, cursor.getTitle(), cursor.getBookId(), Limit.of(limit + 1));
+        }
+
+        boolean hasNext = books.size() > limit;
+        List<BookDetailsDTO> content = hasNext ? books.subList(0, limit) : books;
+
+        String nextCursor = null;
+        if (hasNext) {
+            BookDetailsDTO last = content.get(content.size() - 1);
+            nextCursor = new BookCursor(last.getTitle(), last.getBookId()).encode();
         }
 
-        return books.map(EntityToDtoMapper::mapToBookDetailsDto);
+        return new BookSliceDTO(content, content.size(), hasNext, nextCursor);
     }
 
     @Override
     public List<BookDetailsDTO> searchBooksSimple(String title, String author) {
         InputValidator.requireAtLeastOneSearchParam(title, author);
 
-        List<Book> results = bookRepository.searchBooks(title, author);
-
-        return results.stream()
-                .map(EntityToDtoMapper::mapToBookDetailsDto)
-                .toList();
+        String query = toFullTextQuery(title, author);
+        if (query != null) {
+            return bookRepository.fullTextSearch(query)
+                    .stream()
+                    .map(EntityToDtoMapper::mapToBookDetailsDtoFromView)
+                    .toList();
+        }
 
+        return bookRepository.searchBookDetails(title, author);
     }
 
     // ========== [ POST ] ==========
@@ -69,23 +118,31 @@ public class BookServiceImpl implements BookService {
         return EntityToDtoMapper.mapToBookDetailsDto(savedBook);
     }
 
+    // ========== [ Helper Methods ] ==========
+    // Returns null when the LIKE fallback should be used (mode switched off or no searchable words).
+    private String toFullTextQuery(String title, String author) {
+        if (searchMode != BookSearchMode.FULL_TEXT) {
+            return null;
+        }
+        return FullTextQueryBuilder.build(title, author);
+    }
+
     // ========== [ PUT ] ==========
+    @Transactional
     public void decrementAvailableCopies(Long bookId) {
-        Book book = EntityFetcher.getBookOrThrow(bookId, bookRepository);
-
-        if (book.getAvailableCopies() <= 0) {
+        if (bookRepository.decrementAvailableCopies(bookId) == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new BookNotFoundException("Book with ID " + bookId + " not found");
+            }
             throw new BookUnavailableException("Book with ID " + bookId + " has no copies available for loan.");
         }
-
-        book.setAvailableCopies(book.getAvailableCopies() - 1);
-        bookRepository.save(book);
     }
 
+    @Transactional
     public void incrementAvailableCopies(Long bookId) {
-        Book book = EntityFetcher.getBookOrThrow(bookId, bookRepository);
-
-        book.setAvailableCopies(book.getAvailableCopies() + 1);
-        bookRepository.save(book);
+        if (bookRepository.incrementAvailableCopies(bookId) == 0) {
+            throw new BookNotFoundException("Book with ID " + bookId + " not found");
+        }
     }
 
 }
\ No newline at end of file
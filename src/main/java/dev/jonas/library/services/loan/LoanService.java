@@ -1,14 +1,22 @@
 package dev.jonas.library.services.loan;
 
+import dev.jonas.library.dtos.loan.LoanBatchCheckoutDTO;
+import dev.jonas.library.dtos.loan.LoanBatchResultDTO;
+import dev.jonas.library.dtos.loan.LoanBatchReturnDTO;
 import dev.jonas.library.dtos.loan.LoanCreateDTO;
 import dev.jonas.library.dtos.loan.LoanDTO;
+import dev.jonas.library.dtos.loan.LoanFilterDTO;
+import dev.jonas.library.dtos.loan.LoanSliceDTO;
 
+import java.io.OutputStream;
 import java.util.List;
 
 public interface LoanService {
 
     // ========== [ GET ] ==========
-    List<LoanDTO> getAllLoanDTOs();
+    LoanSliceDTO getLoans(LoanFilterDTO filter, Long after, int size);
+
+    void exportLoans(LoanFilterDTO filter, OutputStream out);
 
     List<LoanDTO> getLoansByUserId(Long userId);
 
@@ -19,9 +27,13 @@ public interface LoanService {
     // ========== [ POST ] ==========
     LoanDTO addLoan(LoanCreateDTO dto);
 
+    LoanBatchResultDTO checkoutBooks(LoanBatchCheckoutDTO dto);
+
     // ========== [ PUT] ==========
     LoanDTO extendLoan(Long loanId);
 
     LoanDTO returnLoan(Long loanId);
 
+    LoanBatchResultDTO returnLoans(LoanBatchReturnDTO dto);
+
 }
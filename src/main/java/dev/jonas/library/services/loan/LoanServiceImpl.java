@@ -1,16 +1,26 @@
 package dev.jonas.library.services.loan;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import dev.jonas.library.dtos.loan.LoanBatchCheckoutDTO;
+import dev.jonas.library.dtos.loan.LoanBatchItemDTO;
+import dev.jonas.library.dtos.loan.LoanBatchOutcome;
+import dev.jonas.library.dtos.loan.LoanBatchResultDTO;
+import dev.jonas.library.dtos.loan.LoanBatchReturnDTO;
 import dev.jonas.library.dtos.loan.LoanCreateDTO;
 import dev.jonas.library.dtos.loan.LoanDTO;
+import dev.jonas.library.dtos.loan.LoanFilterDTO;
+import dev.jonas.library.dtos.loan.LoanSliceDTO;
 import dev.jonas.library.entities.Book;
 import dev.jonas.library.entities.Loan;
 import dev.jonas.library.entities.User;
-import dev.jonas.library.exceptions.api.BookUnavailableException;
 import dev.jonas.library.exceptions.api.LoanAlreadyReturnedException;
 import dev.jonas.library.mappers.DtoToEntityMapper;
 import dev.jonas.library.mappers.EntityToDtoMapper;
 import dev.jonas.library.mappers.RolesToAuthorityMapper;
 import dev.jonas.library.repositories.BookRepository;
+import dev.jonas.library.repositories.LoanBatchWriter;
+import dev.jonas.library.repositories.LoanExportQuery;
 import dev.jonas.library.repositories.LoanRepository;
 import dev.jonas.library.repositories.UserRepository;
 import dev.jonas.library.security.UserAccessValidator;
@@ -18,12 +28,23 @@ import dev.jonas.library.services.book.BookServiceImpl;
 import dev.jonas.library.utils.EntityFetcher;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service implementation for managing loans in the library system.
@@ -39,39 +60,63 @@ public class LoanServiceImpl implements LoanService {
     private final BookServiceImpl bookServiceImpl;
     private final RolesToAuthorityMapper rolesToAuthorityMapper;
     private final UserAccessValidator userAccessValidator;
+    private final LoanExportQuery loanExportQuery;
+    private final LoanBatchWriter loanBatchWriter;
+    private final ObjectMapper objectMapper;
+
+    private static final int MAX_SLICE_SIZE = 100;
 
     // ==================== [ GET ] ====================
+    /**
+     * One keyset slice of loans matching the filter, ordered by loan id.
+     * Book, author and user come from the same statement; one extra row reveals whether more follow.
+     */
     @Override
-    public List<LoanDTO> getAllLoanDTOs() {
-        List<Loan> loans = loanRepository.findAll();
-        List<LoanDTO> DTOs = new ArrayList<>();
-
-        for (Loan loan : loans) {
-            LoanDTO dto = new LoanDTO(
-                    loan.getLoanId(),
-                    EntityToDtoMapper.mapToBookDetailsDtoSimple(loan.getBook()),
-                    EntityToDtoMapper.mapToUserDtoSimple(loan.getUser()),
-                    loan.getBorrowedDate(),
-                    loan.getDueDate(),
-                    loan.getReturnedDate()
-            );
-            DTOs.add(dto);
-        }
+    public LoanSliceDTO getLoans(LoanFilterDTO filter, Long after, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+
+        List<Loan> loans = loanRepository.findLoansAfter(filter, after, Limit.of(limit + 1));
 
-        return DTOs; // Using a loop for clarity, could also use streams
+        boolean hasNext = loans.size() > limit;
+        List<LoanDTO> content = (hasNext ? loans.subList(0, limit) : loans)
+                .stream()
+                .map(EntityToDtoMapper::mapToLoanDto)
+                .toList();
+
+        Long nextCursor = hasNext ? content.get(content.size() - 1).getLoanId() : null;
+        return new LoanSliceDTO(content, content.size(), hasNext, nextCursor);
+    }
+
+    /**
+     * Writes every matching loan as one JSON object per line, straight from the JDBC cursor.
+     */
+    @Override
+    public void exportLoans(LoanFilterDTO filter, OutputStream out) {
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            loanExportQuery.forEach(filter, row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Override
     public List<LoanDTO> getLoansByUserId(Long userId) {
-        return loanRepository.findByUser_userId(userId)
+        return loanRepository.findHistoryByUserId(userId)
                 .stream()
                 .map(EntityToDtoMapper::mapToLoanDto)
                 .toList();
     }
 
+    @Override
     public List<LoanDTO> getLoansByUserEmail(String email) {
-        User user = EntityFetcher.getUserOrThrow(email, userRepository);
-        return loanRepository.findByUser_userId(user.getUserId())
+        return loanRepository.findHistoryByUserEmail(email)
                 .stream()
                 .map(EntityToDtoMapper::mapToLoanDto)
                 .toList();
@@ -80,12 +125,8 @@ public class LoanServiceImpl implements LoanService {
     @Override
     public LoanDTO getLoanById(Long loanId) {
         Loan loan = EntityFetcher.getLoanOrThrow(loanId, loanRepository);
-        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        User currentUser = userRepository.findByEmailIgnoreCase(currentEmail)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
 
-        userAccessValidator.validateUserAccess(currentUser.getUserId()); // Validate access
+        userAccessValidator.validateUserAccess(loan.getUser().getUserId()); // Only the borrower or an admin
 
         return EntityToDtoMapper.mapToLoanDto(loan);
     }
@@ -94,15 +135,12 @@ public class LoanServiceImpl implements LoanService {
     @Override
     @Transactional
     public LoanDTO addLoan(LoanCreateDTO dto) {
+        // Guarded UPDATE first: it both checks and claims a copy in one statement.
+        bookServiceImpl.decrementAvailableCopies(dto.getBookId());
+
         User user = EntityFetcher.getUserOrThrow(dto.getUserId(), userRepository);
         Book book = EntityFetcher.getBookOrThrow(dto.getBookId(), bookRepository);
 
-        if (book.getAvailableCopies() <= 0) {
-            throw new BookUnavailableException("No available copies of this book.");
-        }
-
-        bookServiceImpl.decrementAvailableCopies(book.getBookId());
-
         Loan loan = DtoToEntityMapper.mapToLoanEntity(dto, user, book);
         loan.setBorrowedDate(LocalDate.now());
         loan.setDueDate(LocalDate.now().plusDays(14));
@@ -111,6 +149,68 @@ public class LoanServiceImpl implements LoanService {
         return EntityToDtoMapper.mapToLoanDto(savedLoan);
     }
 
+    /**
+     * Checks out a stack of books to one user in a single transaction.
+     * Copies are claimed with one guarded update per distinct book and the loans are inserted in one
+     * statement; books that are missing or out of copies are reported per item instead of failing the stack.
+     */
+    @Override
+    @Transactional
+    public LoanBatchResultDTO checkoutBooks(LoanBatchCheckoutDTO dto) {
+        EntityFetcher.getUserOrThrow(dto.getUserId(), userRepository);
+
+        Map<Long, Integer> requested = new LinkedHashMap<>();
+        dto.getBookIds().forEach(bookId -> requested.merge(bookId, 1, Integer::sum));
+
+        // Claim as many copies per book as were asked for and are on the shelf.
+        Map<Long, Integer> available = loanBatchWriter.findAvailableCopies(requested.keySet());
+        Map<Long, Integer> claims = new LinkedHashMap<>();
+        requested.forEach((bookId, copies) -> {
+            int claimable = Math.min(copies, available.getOrDefault(bookId, 0));
+            if (claimable > 0) {
+                claims.put(bookId, claimable);
+            }
+        });
+
+        Map<Long, Integer> granted = new HashMap<>();
+        int[] claimed = loanBatchWriter.claimCopies(claims);
+        int i = 0;
+        for (Map.Entry<Long, Integer> claim : claims.entrySet()) {
+            if (claimed[i++] > 0) {
+                granted.put(claim.getKey(), claim.getValue());
+            }
+        }
+
+        List<Long> toLend = new ArrayList<>();
+        Map<Long, Integer> remaining = new HashMap<>(granted);
+        for (Long bookId : dto.getBookIds()) {
+            if (remaining.getOrDefault(bookId, 0) > 0) {
+                remaining.merge(bookId, -1, Integer::sum);
+                toLend.add(bookId);
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate dueDate = today.plusDays(14);
+        Map<Long, Deque<Long>> loanIdsByBook = new HashMap<>();
+        for (LoanBatchWriter.InsertedLoan inserted : loanBatchWriter.insertLoans(dto.getUserId(), toLend, today, dueDate)) {
+            loanIdsByBook.computeIfAbsent(inserted.bookId(), id -> new ArrayDeque<>()).add(inserted.loanId());
+        }
+
+        List<LoanBatchItemDTO> items = new ArrayList<>(dto.getBookIds().size());
+        for (Long bookId : dto.getBookIds()) {
+            Deque<Long> loanIds = loanIdsByBook.get(bookId);
+            if (loanIds != null && !loanIds.isEmpty()) {
+                items.add(new LoanBatchItemDTO(bookId, LoanBatchOutcome.CREATED, loanIds.poll(), dueDate));
+            } else if (!available.containsKey(bookId)) {
+                items.add(new LoanBatchItemDTO(bookId, LoanBatchOutcome.BOOK_NOT_FOUND, null, null));
+            } else {
+                items.add(new LoanBatchItemDTO(bookId, LoanBatchOutcome.UNAVAILABLE, null, null));
+            }
+        }
+        return LoanBatchResultDTO.of(items);
+    }
+
     // ==================== [ PUT ] ====================
     @Override
     @Transactional
@@ -139,7 +239,47 @@ public class LoanServiceImpl implements LoanService {
         loan.setReturnedDate(LocalDate.now());
         bookServiceImpl.incrementAvailableCopies(loan.getBook().getBookId());
 
-        Loan savedLoan = loanRepository.save(loan);
+        // The guarded update flushed the return date and cleared the context, so re-read the loan.
+        Loan savedLoan = EntityFetcher.getLoanOrThrow(loanId, loanRepository);
         return EntityToDtoMapper.mapToLoanDto(savedLoan);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns a stack of loans in a single transaction: one batched guarded update marks them returned
+     * and one batched update per distinct book puts the copies back on the shelf.
+     */
+    @Override
+    @Transactional
+    public LoanBatchResultDTO returnLoans(LoanBatchReturnDTO dto) {
+        Map<Long, LoanBatchWriter.LoanState> states = loanBatchWriter.findLoanStates(new LinkedHashSet<>(dto.getLoanIds()));
+
+        List<Long> toReturn = dto.getLoanIds().stream()
+                .distinct()
+                .filter(loanId -> states.containsKey(loanId) && !states.get(loanId).returned())
+                .toList();
+
+        Set<Long> returned = new HashSet<>();
+        Map<Long, Integer> copiesByBook = new LinkedHashMap<>();
+        int[] updated = loanBatchWriter.markReturned(toReturn, LocalDate.now());
+        for (int i = 0; i < toReturn.size(); i++) {
+            if (updated[i] > 0) {
+                Long loanId = toReturn.get(i);
+                returned.add(loanId);
+                copiesByBook.merge(states.get(loanId).bookId(), 1, Integer::sum);
+            }
+        }
+        loanBatchWriter.releaseCopies(copiesByBook);
+
+        List<LoanBatchItemDTO> items = new ArrayList<>(dto.getLoanIds().size());
+        for (Long loanId : dto.getLoanIds()) {
+            if (returned.remove(loanId)) { // a repeated id reports as already returned
+                items.add(new LoanBatchItemDTO(loanId, LoanBatchOutcome.RETURNED, null, null));
+            } else if (!states.containsKey(loanId)) {
+                items.add(new LoanBatchItemDTO(loanId, LoanBatchOutcome.LOAN_NOT_FOUND, null, null));
+            } else {
+                items.add(new LoanBatchItemDTO(loanId, LoanBatchOutcome.ALREADY_RETURNED, null, null));
+            }
+        }
+        return LoanBatchResultDTO.of(items);
+    }
+}
@@ -12,8 +12,10 @@ import dev.jonas.library.mappers.RolesToAuthorityMapper;
 import dev.jonas.library.repositories.RoleRepository;
 import dev.jonas.library.repositories.UserRepository;
 import dev.jonas.library.repositories.UserRoleRepository;
+import dev.jonas.library.security.CurrentUser;
 import dev.jonas.library.security.UserAccessValidator;
 import dev.jonas.library.utils.EntityFetcher;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -60,9 +62,9 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDTO assignRole(RoleChangeRequest request) {
-        User editor = userAccessValidator.getCurrentAuthenticatedUser();
-        userAccessValidator.validateUserAccess(editor.getUserId());
+        CurrentUser editor = userAccessValidator.getCurrentUser();
 
         User targetUser = EntityFetcher.getUserOrThrow(request.getEmail(), userRepository);
         Role role = EntityFetcher.getRoleOrThrow(request.getRoleName(), roleRepository);
@@ -73,6 +75,7 @@ public class UserServiceImpl implements UserService {
 
         if (!alreadyHasRole) {
             userRoleRepository.save(new UserRole(targetUser.getUserId(), role.getRoleId()));
+            rolesToAuthorityMapper.evict(targetUser.getUserId()); // after commit
             log.info("Role '{}' assigned to user '{}' by '{}'",
                     role.getRoleName(), targetUser.getEmail(), editor.getEmail());
         } else {
@@ -85,14 +88,15 @@ public class UserServiceImpl implements UserService {
 
 
     @Override
+    @Transactional
     public UserDTO removeRole(RoleChangeRequest request) {
-        User editor = userAccessValidator.getCurrentAuthenticatedUser();
-        userAccessValidator.validateUserAccess(editor.getUserId());
+        CurrentUser editor = userAccessValidator.getCurrentUser();
 
         User targetUser = EntityFetcher.getUserOrThrow(request.getEmail(), userRepository);
         Role role = EntityFetcher.getRoleOrThrow(request.getRoleName(), roleRepository);
 
         userRoleRepository.deleteByUserIdAndRoleId(targetUser.getUserId(), role.getRoleId());
+        rolesToAuthorityMapper.evict(targetUser.getUserId()); // after commit
         log.info("Role '{}' removed from user '{}' by '{}'",
                 role.getRoleName(), targetUser.getEmail(), editor.getEmail());
 
@@ -0,0 +1,250 @@
+package dev.jonas.library.services.write;
+
+import dev.jonas.library.exceptions.api.WritePipelineBusyException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Funnels database mutations through a single writer thread, since SQLite only ever admits one writer.
+ * Requests that queue up while a transaction is running are committed together in the next one
+ * (group commit), so callers stop competing for the write lock and throughput grows with the batch
+ * instead of collapsing into {@code SQLITE_BUSY} retries.
+ * <p>
+ * Every write in a group runs under its own savepoint. A write that throws is rolled back to it and
+ * fails alone while the rest of the group commits, so an expected outcome such as an unavailable book
+ * costs no extra transaction. Only when the transaction itself is lost (rollback-only, a failed commit,
+ * an {@link Error}) is the group rolled back and every write in it replayed in its own transaction.
+ * Work must therefore keep all of its side effects inside the transaction. It also runs without the
+ * caller's security context.
+ * <p>
+ * The persistence context is flushed and cleared after every write in a group. Work that writes
+ * through JDBC never sees an entity left dirty by an earlier write, and no stale entity is written
+ * back over those JDBC changes at commit.
+ * <p>
+ * With {@code library.write-pipeline.enabled=false} work runs directly on the calling thread.
+ * Batch sizes are published as {@code write_pipeline.batch.size}.
+ */
+@Slf4j
+@Component
+public class WritePipeline {
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final DataSource dataSource;
+    private final BlockingQueue<PendingWrite<?>> queue;
+    private final int maxBatchSize;
+    private final boolean enabled;
+    private final DistributionSummary batchSizes;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public WritePipeline(
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager,
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${library.write-pipeline.enabled:true}") boolean enabled,
+            @Value("${library.write-pipeline.max-batch-size:64}") int maxBatchSize,
+            @Value("${library.write-pipeline.queue-capacity:1024}") int queueCapacity
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.dataSource = dataSource;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.enabled = enabled;
+        this.batchSizes = DistributionSummary.builder("write_pipeline.batch.size")
+                .description("Writes committed per transaction")
+                .register(meterRegistry);
+        Gauge.builder("write_pipeline.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+
+        this.writer = new Thread(this::drain, "db-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Queues the work for the writer thread and returns its result asynchronously.
+     * Rejects immediately with {@link WritePipelineBusyException} (503) when the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        return submit(work, null);
+    }
+
+    /**
+     * Like {@link #submit(Supplier)}, but a {@code commitOn} exception thrown by the work does not roll
+     * back what it wrote: the transaction commits and the exception is then handed to the caller.
+     * Meant for work that records a decision before rejecting, such as a revoked session.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work, Class<? extends RuntimeException> commitOn) {
+        if (!enabled) {
+            try {
+                return CompletableFuture.completedFuture(work.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        PendingWrite<T> pending = new PendingWrite<>(work, commitOn, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new WritePipelineBusyException("Service is busy, please retry shortly");
+        }
+        return pending.result();
+    }
+
+    // ==================== [ Writer Thread ] ====================
+    private void drain() {
+        List<PendingWrite<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable t) {
+                // The writer must outlive anything a write throws; whoever is still waiting gets the failure.
+                log.error("Write group of {} failed unexpectedly", batch.size(), t);
+                batch.forEach(pending -> pending.result().completeExceptionally(t));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite<?>> batch) {
+        batchSizes.record(batch.size());
+        if (batch.size() == 1) {
+            commitAlone(batch.get(0));
+            return;
+        }
+
+        List<Object> outcomes = new ArrayList<>(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // The connection Hibernate and JdbcTemplate share for this transaction.
+                Connection connection = DataSourceUtils.getConnection(dataSource);
+                try {
+                    for (PendingWrite<?> pending : batch) {
+                        outcomes.add(runIsolated(pending, connection, status));
+                    }
+                } catch (SQLException e) {
+                    throw new TransactionSystemException("Savepoint handling failed", e);
+                } finally {
+                    DataSourceUtils.releaseConnection(connection, dataSource);
+                }
+            });
+        } catch (Throwable t) {
+            log.debug("Group of {} writes rolled back ({}), replaying one by one", batch.size(), t.toString());
+            batch.forEach(this::commitAlone);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).settle(outcomes.get(i));
+        }
+    }
+
+    /**
+     * Runs one write of a group under its own savepoint. A write that throws is rolled back to the
+     * savepoint and reported as failed; the exception is rethrown only if it left the transaction
+     * rollback-only, which sends the whole group to replay.
+     */
+    private Object runIsolated(PendingWrite<?> pending, Connection connection, TransactionStatus status) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            Object outcome = pending.run();
+            entityManager.flush();
+            entityManager.clear();
+            connection.releaseSavepoint(savepoint);
+            return outcome;
+        } catch (RuntimeException e) {
+            entityManager.clear(); // drop whatever the write left unflushed
+            connection.rollback(savepoint);
+            if (status.isRollbackOnly()) {
+                throw e;
+            }
+            return new Failure(e);
+        }
+    }
+
+    private void commitAlone(PendingWrite<?> pending) {
+        try {
+            pending.settle(transactionTemplate.execute(status -> pending.run()));
+        } catch (Throwable t) {
+            pending.result().completeExceptionally(t);
+        }
+    }
+
+    private record PendingWrite<T>(
+            Supplier<T> work,
+            Class<? extends RuntimeException> commitOn,
+            CompletableFuture<T> result
+    ) {
+        /** Runs the work, turning a {@code commitOn} exception into a value so the transaction still commits. */
+        Object run() {
+            try {
+                return work.get();
+            } catch (RuntimeException e) {
+                if (commitOn != null && commitOn.isInstance(e)) {
+                    return new Failure(e);
+                }
+                throw e;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void settle(Object outcome) {
+            if (outcome instanceof Failure failure) {
+                result.completeExceptionally(failure.cause());
+            } else {
+                result.complete((T) outcome);
+            }
+        }
+    }
+
+    /** A write that failed: either committed anyway ({@code commitOn}) or rolled back to its savepoint. */
+    private record Failure(RuntimeException cause) {
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        PendingWrite<?> pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new WritePipelineBusyException("Service is shutting down"));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package dev.jonas.library.services.write;
+
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+
+@Configuration
+public class WritePipelineConfig {
+
+    /**
+     * A {@code @Transactional} method that fails inside an outer transaction leaves the rollback decision
+     * to that outer transaction instead of marking it rollback-only. The {@link WritePipeline} needs this
+     * to roll a failed write back to its savepoint and still commit the rest of its group; a caller that
+     * lets the exception propagate rolls back exactly as before.
+     */
+    @Bean
+    public TransactionManagerCustomizer<AbstractPlatformTransactionManager> participationFailureCustomizer() {
+        return transactionManager -> transactionManager.setGlobalRollbackOnParticipationFailure(false);
+    }
+}
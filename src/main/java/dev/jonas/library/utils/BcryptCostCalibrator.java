@@ -0,0 +1,44 @@
+package dev.jonas.library.utils;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Utility class for picking a BCrypt cost that fits the current hardware.
+ * Each cost step doubles the hashing time, so costs are measured upward until a hash
+ * would exceed the target latency.
+ */
+public class BcryptCostCalibrator {
+
+    private static final int MIN_COST = 4;
+    private static final int MAX_COST = 31;
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    // ========== [ Calibration ] ==========
+
+    /**
+     * Returns the highest cost (at least {@code floor}) whose single hash takes no longer than {@code target}.
+     */
+    public static int calibrate(Duration target, int floor) {
+        int cost = Math.max(MIN_COST, Math.min(floor, MAX_COST));
+        measure(cost); // warm-up
+
+        while (cost < MAX_COST) {
+            Duration next = measure(cost + 1);
+            if (next.compareTo(target) > 0) {
+                break;
+            }
+            cost++;
+        }
+        return cost;
+    }
+
+    // ========== [ Helpers ] ==========
+    private static Duration measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
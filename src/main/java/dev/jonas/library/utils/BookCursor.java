@@ -0,0 +1,40 @@
+package dev.jonas.library.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the keyset ordering {@code (title, bookId)} used by cursor pagination.
+ * Encoded as an opaque URL-safe Base64 string so clients cannot depend on its contents.
+ */
+@Getter
+@AllArgsConstructor
+public class BookCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final String title;
+    private final Long bookId;
+
+    // ========== [ Encoding ] ==========
+    public String encode() {
+        String raw = bookId + String.valueOf(SEPARATOR) + title;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ========== [ Decoding ] ==========
+    public static BookCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            return new BookCursor(raw.substring(split + 1), Long.parseLong(raw.substring(0, split)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid pagination cursor.");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package dev.jonas.library.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for building SQLite FTS5 MATCH expressions from raw user input.
+ * Every word becomes a quoted prefix term restricted to its column, so user input
+ * can never inject FTS5 operators.
+ */
+public class FullTextQueryBuilder {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // ========== [ Title + Author ] ==========
+
+    /**
+     * Builds e.g. {@code title : "frank"* AND author_name : "shelley"*}.
+     * Returns {@code null} when the input contains no searchable words.
+     */
+    public static String build(String title, String author) {
+        List<String> terms = new ArrayList<>();
+        addTerms(terms, "title", title);
+        addTerms(terms, "author_name", author);
+
+        return terms.isEmpty() ? null : String.join(" AND ", terms);
+    }
+
+    // ========== [ Helpers ] ==========
+    private static void addTerms(List<String> terms, String column, String input) {
+        if (input == null || input.isBlank()) {
+            return;
+        }
+        for (String word : NON_WORD.split(input.trim())) {
+            if (!word.isEmpty()) {
+                terms.add(column + " : \"" + word + "\"*");
+            }
+        }
+    }
+}
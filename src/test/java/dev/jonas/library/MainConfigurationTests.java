@@ -0,0 +1,42 @@
+package dev.jonas.library;
+
+import dev.jonas.library.security.ratelimit.RateLimitProperties;
+import dev.jonas.library.services.book.BookSearchMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application with the production {@code application.properties} (which the test resources
+ * otherwise shadow), so a value that does not bind fails the build instead of the first real startup.
+ * Only the database is redirected to the test file.
+ */
+@SpringBootTest
+@TestPropertySource(
+        locations = "file:src/main/resources/application.properties",
+        properties = {
+                "spring.datasource.url=jdbc:sqlite:./library_test.db",
+                "spring.jpa.hibernate.ddl-auto=create-drop"
+        }
+)
+class MainConfigurationTests {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @Test
+    void mainPropertiesBind() {
+        assertThat(environment.getProperty("library.books.search-mode", BookSearchMode.class))
+                .isEqualTo(BookSearchMode.FULL_TEXT);
+        assertThat(environment.getProperty("library.loans.export.fetch-size", Integer.class)).isEqualTo(500);
+        assertThat(environment.getProperty("library.write-pipeline.enabled", Boolean.class)).isTrue();
+        assertThat(rateLimitProperties.getPolicies()).isNotEmpty();
+    }
+}
@@ -1,23 +1,37 @@
 package dev.jonas.library.datajpa.repositories;
 
+import dev.jonas.library.dtos.book.BookDetailsDTO;
+import dev.jonas.library.dtos.book.BookDetailsView;
 import dev.jonas.library.entities.Author;
 import dev.jonas.library.entities.Book;
 import dev.jonas.library.repositories.AuthorRepository;
+import dev.jonas.library.repositories.BookFullTextIndex;
 import dev.jonas.library.repositories.BookRepository;
+import dev.jonas.library.utils.FullTextQueryBuilder;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @ActiveProfiles("test")
+@Import(BookFullTextIndex.class)
 class BookRepositoryTest {
 
     @Autowired
@@ -26,9 +40,18 @@ class BookRepositoryTest {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookFullTextIndex fullTextIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
-    @DisplayName("searchBooks() returns book matching title and author")
-    void searchBooks_shouldReturnMatchingBook() {
+    @DisplayName("searchBookDetails() returns book matching title and author")
+    void searchBookDetails_shouldReturnMatchingBook() {
         // ########## [ Arrange ] ##########
         Author author = new Author(
                 "Mary",
@@ -44,15 +67,131 @@ class BookRepositoryTest {
                 3,
                 3);
         bookRepository.save(book);
+        bookRepository.save(new Book("The Last Man", author, 1826, 1, 1));
 
         // ########## [ Act ] ##########
-        List<Book> result = bookRepository.searchBooks(
+        List<BookDetailsDTO> result = bookRepository.searchBookDetails(
                 "frank",
                 "mary shelley"
         );
 
         // ########## [ Assert ] ##########
-        assertThat(result).isNotEmpty();
-        assertThat(result.get(0).getTitle()).containsIgnoringCase("frank");
+        assertThat(result).extracting(BookDetailsDTO::getTitle).containsExactly("Frankenstein");
+        assertThat(result.get(0).getAuthorName()).isEqualTo("Mary Shelley");
+        assertThat(result.get(0).getAvailableCopies()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("initialize() keeps an index that matches books and rebuilds one whose row count drifted")
+    void fullTextIndexInitialize_rebuildsOnlyWhenOutOfSync() {
+        // ########## [ Arrange ] ##########
+        Author author = authorRepository.save(new Author("Mary", "Shelley", 1797, "England"));
+        Book book = bookRepository.save(new Book("Frankenstein", author, 1818, 3, 3));
+        entityManager.flush();
+        // Same row count as books, different content: only a rebuild would undo it.
+        jdbcTemplate.update("UPDATE " + BookFullTextIndex.TABLE + " SET title = 'Stale' WHERE rowid = ?", book.getBookId());
+
+        // ########## [ Act & Assert ] ##########
+        fullTextIndex.initialize();
+        assertThat(bookRepository.fullTextSearch(FullTextQueryBuilder.build("stale", null))).hasSize(1);
+
+        jdbcTemplate.update("DELETE FROM " + BookFullTextIndex.TABLE + " WHERE rowid = ?", book.getBookId());
+        fullTextIndex.initialize();
+        assertThat(bookRepository.fullTextSearch(FullTextQueryBuilder.build("stale", null))).isEmpty();
+        assertThat(bookRepository.fullTextSearch(FullTextQueryBuilder.build("frank", null)))
+                .extracting(BookDetailsView::getBookId)
+                .containsExactly(book.getBookId());
+    }
+
+    @Test
+    @DisplayName("fullTextSearch() matches word prefixes in title and author via the FTS5 index")
+    void fullTextSearch_shouldReturnPrefixMatches() {
+        // ########## [ Arrange ] ##########
+        Author author = authorRepository.save(new Author(
+                "Mary",
+                "Shelley",
+                1797,
+                "England"
+        ));
+        bookRepository.save(new Book("Frankenstein", author, 1818, 3, 3));
+        bookRepository.save(new Book("The Last Man", author, 1826, 1, 1));
+
+        // ########## [ Act ] ##########
+        List<BookDetailsView> result = bookRepository.fullTextSearch(
+                FullTextQueryBuilder.build("frank", "shel")
+        );
+
+        // ########## [ Assert ] ##########
+        assertThat(result).extracting(BookDetailsView::getTitle).containsExactly("Frankenstein");
+        assertThat(result.get(0).getAuthorName()).isEqualTo("Mary Shelley");
+    }
+
+    @Test
+    @DisplayName("findBooksFirst() and findBooksAfter() walk the catalog in (title, id) order without overlap")
+    void keysetSlices_shouldContinueAfterLastRow() {
+        // ########## [ Arrange ] ##########
+        Author author = authorRepository.save(new Author("Astrid", "Lindgren", 1907, "Sweden"));
+        for (String title : List.of("Bröderna Lejonhjärta", "Emil i Lönneberga", "Mio min Mio", "Pippi Långstrump", "Ronja Rövardotter")) {
+            bookRepository.save(new Book(title, author, 1950, 1, 1));
+        }
+
+        // ########## [ Act ] ##########
+        List<BookDetailsDTO> first = bookRepository.findBooksFirst(null, "lindgren", Limit.of(2));
+        BookDetailsDTO last = first.get(first.size() - 1);
+        List<BookDetailsDTO> next = bookRepository.findBooksAfter(null, "lindgren", last.getTitle(), last.getBookId(), Limit.of(10));
+
+        // ########## [ Assert ] ##########
+        assertThat(first).extracting(BookDetailsDTO::getTitle)
+                .containsExactly("Bröderna Lejonhjärta", "Emil i Lönneberga");
+        assertThat(next).extracting(BookDetailsDTO::getTitle)
+                .containsExactly("Mio min Mio", "Pippi Långstrump", "Ronja Rövardotter");
+    }
+
+    @Test
+    @DisplayName("Catalog projections read books with their author names in bounded statements and hydrate no entities")
+    void catalogProjections_shouldUseBoundedStatementsWithoutEntities() {
+        // ########## [ Arrange ] ##########
+        for (int i = 0; i < 10; i++) {
+            Author author = authorRepository.save(new Author("First" + i, "Last" + i, 1900 + i, "Sweden"));
+            bookRepository.save(new Book("Book " + i, author, 2000 + i, 1, 1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        // ########## [ Act & Assert ] ##########
+        statistics.clear();
+        List<BookDetailsDTO> page = bookRepository.findAllDetails(PageRequest.of(0, 10)).getContent();
+
+        assertThat(page).hasSize(10).allSatisfy(book -> assertThat(book.getAuthorName()).startsWith("First"));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2); // page + count
+
+        statistics.clear();
+        List<BookDetailsDTO> searched = bookRepository.searchBookDetails("book", "last");
+
+        assertThat(searched).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        Page<BookDetailsDTO> searchedPage = bookRepository.searchBookDetailsPaged("book", "last", PageRequest.of(0, 4));
+
+        assertThat(searchedPage.getContent()).hasSize(4);
+        assertThat(searchedPage.getTotalElements()).isEqualTo(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2); // page + count
+
+        statistics.clear();
+        List<BookDetailsView> fullText = bookRepository.fullTextSearch(FullTextQueryBuilder.build("book", "last"));
+        List<BookDetailsDTO> slice = bookRepository.findBooksFirst("book", null, Limit.of(5));
+
+        assertThat(fullText).hasSize(10);
+        assertThat(slice).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2); // one each
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,267 @@
+package dev.jonas.library.datajpa.repositories;
+
+import dev.jonas.library.dtos.loan.LoanFilterDTO;
+import dev.jonas.library.dtos.loan.LoanStatus;
+import dev.jonas.library.entities.Author;
+import dev.jonas.library.entities.Book;
+import dev.jonas.library.entities.User;
+import dev.jonas.library.repositories.ActiveLoanIndex;
+import dev.jonas.library.repositories.AuthorRepository;
+import dev.jonas.library.repositories.BookRepository;
+import dev.jonas.library.repositories.LoanBatchWriter;
+import dev.jonas.library.repositories.LoanExportQuery;
+import dev.jonas.library.repositories.LoanRepository;
+import dev.jonas.library.repositories.UserRepository;
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs every hot loan query against a seeded table and checks SQLite's {@code EXPLAIN QUERY PLAN}.
+ * The SQL is captured as it is sent: from Hibernate for the repository queries, and from the connection
+ * for the plain JDBC ones ({@link LoanExportQuery}, {@link LoanBatchWriter}), so a changed mapping or
+ * query shape is caught here too. Any plan step that scans fails the test, whether it walks the table
+ * or a whole index; the PK-ordered slice seeks from its cursor like every other query.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "dev.jonas.library.datajpa.repositories.LoanQueryPlanTest$CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ActiveLoanIndex.class)
+class LoanQueryPlanTest {
+
+    private static final int AUTHORS = 20;
+    private static final int USERS = 200;
+    private static final int BOOKS = 200;
+    private static final int LOANS = 20_000;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long bookId;
+    private Long loanId;
+
+    @BeforeEach
+    void seed() {
+        // ########## [ Arrange ] ##########
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(new Author("Author", "No" + i, 1948, "England"));
+        }
+        authors = authorRepository.saveAll(authors);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("Reader", "No" + i, "reader" + i + "@plan.se", "123", "19900101" + i, LocalDateTime.now()));
+        }
+        users = userRepository.saveAll(users);
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(new Book("Title " + i, authors.get(i % AUTHORS), 1983, 3, 3));
+        }
+        books = bookRepository.saveAll(books);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // Roughly nine in ten loans are returned, as in a library that has been running a while.
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>(LOANS);
+        for (int i = 0; i < LOANS; i++) {
+            LocalDate borrowed = today.minusDays(i % 365);
+            LocalDate returned = i % 10 == 0 ? null : borrowed.plusDays(7);
+            rows.add(new Object[]{
+                    users.get(i % USERS).getUserId(),
+                    books.get(i % BOOKS).getBookId(),
+                    Date.valueOf(borrowed),
+                    Date.valueOf(borrowed.plusDays(14)),
+                    returned == null ? null : Date.valueOf(returned)
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO loans (user_id, book_id, borrowed_date, due_date, returned_date) VALUES (?, ?, ?, ?, ?)",
+                rows);
+        jdbcTemplate.execute("ANALYZE");
+
+        userId = users.get(7).getUserId();
+        bookId = books.get(7).getBookId();
+        loanId = jdbcTemplate.queryForObject("SELECT MAX(loan_id) FROM loans", Long.class);
+    }
+
+    @Test
+    @DisplayName("Hot loan queries seek through an index, never scan a table or a whole index")
+    void hotQueries_neverScan() {
+        // ########## [ Act ] ##########
+        Map<String, Runnable> hotQueries = new LinkedHashMap<>();
+        hotQueries.put("loan history by user id", () ->
+                loanRepository.findHistoryByUserId(userId));
+        hotQueries.put("loan history by user email", () ->
+                loanRepository.findHistoryByUserEmail("reader7@plan.se"));
+        hotQueries.put("active loans of a user", () ->
+                loanRepository.findLoansAfter(filter(LoanStatus.ACTIVE, userId, null), null, Limit.of(51)));
+        hotQueries.put("returned loans of a user", () ->
+                loanRepository.findLoansAfter(filter(LoanStatus.RETURNED, userId, null), null, Limit.of(51)));
+        hotQueries.put("who has this book", () ->
+                loanRepository.findLoansAfter(filter(LoanStatus.ACTIVE, null, bookId), null, Limit.of(51)));
+        hotQueries.put("loan history of a book", () ->
+                loanRepository.findLoansAfter(filter(null, null, bookId), null, Limit.of(51)));
+        hotQueries.put("overdue loans", () ->
+                loanRepository.findLoansAfter(filter(LoanStatus.OVERDUE, null, null), null, Limit.of(51)));
+        hotQueries.put("next slice of all loans", () ->
+                loanRepository.findLoansAfter(filter(null, null, null), 10_000L, Limit.of(51)));
+
+        // Plain JDBC, captured at the connection. Exports without a user, book or status filter stream
+        // the whole table by design and are not hot queries.
+        JdbcTemplate capturing = new JdbcTemplate(capturingDataSource());
+        LoanExportQuery export = new LoanExportQuery(capturing);
+        LoanBatchWriter batchWriter = new LoanBatchWriter(capturing);
+        hotQueries.put("export a user's loans", () ->
+                export.forEach(filter(null, userId, null), row -> { }));
+        hotQueries.put("export a user's returned loans", () ->
+                export.forEach(filter(LoanStatus.RETURNED, userId, null), row -> { }));
+        hotQueries.put("export a book's loans", () ->
+                export.forEach(filter(null, null, bookId), row -> { }));
+        hotQueries.put("export active loans of a book", () ->
+                export.forEach(filter(LoanStatus.ACTIVE, null, bookId), row -> { }));
+        hotQueries.put("export overdue loans", () ->
+                export.forEach(filter(LoanStatus.OVERDUE, null, null), row -> { }));
+        hotQueries.put("batch checkout", () -> {
+            batchWriter.findAvailableCopies(Set.of(bookId));
+            batchWriter.claimCopies(Map.of(bookId, 1));
+        });
+        hotQueries.put("batch return", () -> {
+            batchWriter.findLoanStates(Set.of(loanId));
+            batchWriter.markReturned(List.of(loanId), LocalDate.now());
+            batchWriter.releaseCopies(Map.of(bookId, 1));
+        });
+
+        Map<String, List<String>> plans = new LinkedHashMap<>();
+        hotQueries.forEach((name, query) -> {
+            CapturingStatementInspector.STATEMENTS.clear();
+            query.run();
+            List<String> plan = new ArrayList<>();
+            for (String sql : CapturingStatementInspector.STATEMENTS) {
+                plan.addAll(explain(sql));
+            }
+            plans.put(name, plan);
+        });
+
+        // ########## [ Assert ] ##########
+        SoftAssertions softly = new SoftAssertions();
+        plans.forEach((name, plan) -> {
+            softly.assertThat(plan).as("plan of '%s'", name).isNotEmpty();
+            softly.assertThat(plan)
+                    .as("plan of '%s'", name)
+                    .noneMatch(LoanQueryPlanTest::isScan);
+        });
+        softly.assertAll();
+    }
+
+    // ==================== [ Helpers ] ====================
+    private static LoanFilterDTO filter(LoanStatus status, Long userId, Long bookId) {
+        return new LoanFilterDTO(status, null, null, userId, bookId);
+    }
+
+    // Parameters are bound as NULL; without STAT4 SQLite plans independently of the values.
+    private List<String> explain(String sql) {
+        return jdbcTemplate.query(
+                connection -> {
+                    var statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+                    int parameters = statement.getParameterMetaData().getParameterCount();
+                    for (int i = 1; i <= parameters; i++) {
+                        statement.setObject(i, null);
+                    }
+                    return statement;
+                },
+                (rs, rowNum) -> rs.getString("detail"));
+    }
+
+    // "SCAN t" walks the whole table and "SCAN t USING [COVERING] INDEX i" the whole index; only "SEARCH" seeks.
+    private static boolean isScan(String detail) {
+        return detail.startsWith("SCAN ");
+    }
+
+    /** Hands out the test transaction's connection, recording every statement prepared on it. */
+    private DataSource capturingDataSource() {
+        return new DelegatingDataSource(new TransactionAwareDataSourceProxy(jdbcTemplate.getDataSource())) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[]{Connection.class},
+                        (proxy, method, args) -> {
+                            if (method.getName().equals("prepareStatement")) {
+                                CapturingStatementInspector.capture((String) args[0]);
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+            }
+        };
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            capture(sql);
+            return sql;
+        }
+
+        // Single-row inserts have no plan to check.
+        static void capture(String sql) {
+            if (!sql.stripLeading().toLowerCase().startsWith("insert")) {
+                STATEMENTS.add(sql);
+            }
+        }
+    }
+}
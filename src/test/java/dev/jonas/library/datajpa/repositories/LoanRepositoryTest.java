@@ -0,0 +1,99 @@
+package dev.jonas.library.datajpa.repositories;
+
+import dev.jonas.library.dtos.loan.LoanDTO;
+import dev.jonas.library.dtos.loan.LoanFilterDTO;
+import dev.jonas.library.entities.Author;
+import dev.jonas.library.entities.Book;
+import dev.jonas.library.entities.Loan;
+import dev.jonas.library.entities.User;
+import dev.jonas.library.mappers.EntityToDtoMapper;
+import dev.jonas.library.repositories.AuthorRepository;
+import dev.jonas.library.repositories.BookRepository;
+import dev.jonas.library.repositories.LoanRepository;
+import dev.jonas.library.repositories.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loan lists are the remaining reads that map {@link Book} entities, and their authors, into DTOs;
+ * the book catalog itself reads projections (see {@code BookRepositoryTest}). Each list must arrive
+ * with book, author and user fetch-joined, so mapping a page costs one statement however many
+ * distinct books and authors it holds.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class LoanRepositoryTest {
+
+    private static final int LOANS = 10;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Loan lists map book, author and user from a single statement")
+    void loanLists_fetchBookAuthorAndUser_inOneStatement() {
+        // ########## [ Arrange ] ##########
+        User user = userRepository.save(new User("Astrid", "Lindgren", "astrid@fetch.se", "123", "1907111400", LocalDateTime.now()));
+        for (int i = 0; i < LOANS; i++) {
+            // A distinct book and author per loan: lazy loading would cost two extra selects per row.
+            Author author = authorRepository.save(new Author("First" + i, "Last" + i, 1900 + i, "Sweden"));
+            Book book = bookRepository.save(new Book("Book " + i, author, 2000 + i, 1, 1));
+            loanRepository.save(new Loan(user, book, LocalDate.now(), LocalDate.now().plusDays(14)));
+        }
+        entityManager.flush();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        LoanFilterDTO byUser = new LoanFilterDTO(null, null, null, user.getUserId(), null);
+
+        // ########## [ Act & Assert ] ##########
+        assertMappedInOneStatement(statistics, () -> loanRepository.findHistoryByUserId(user.getUserId()));
+        assertMappedInOneStatement(statistics, () -> loanRepository.findHistoryByUserEmail("astrid@fetch.se"));
+        assertMappedInOneStatement(statistics, () -> loanRepository.findLoansAfter(byUser, null, Limit.of(LOANS + 1)));
+    }
+
+    // ==================== [ Helpers ] ====================
+    private void assertMappedInOneStatement(Statistics statistics, Supplier<List<Loan>> query) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<LoanDTO> loans = query.get().stream()
+                .map(EntityToDtoMapper::mapToLoanDto)
+                .toList();
+
+        assertThat(loans).hasSize(LOANS)
+                .allSatisfy(loan -> assertThat(loan.getBook().getAuthorName()).startsWith("First"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
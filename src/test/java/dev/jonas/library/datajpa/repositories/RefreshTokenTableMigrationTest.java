@@ -0,0 +1,72 @@
+package dev.jonas.library.datajpa.repositories;
+
+import dev.jonas.library.repositories.RefreshTokenTableMigration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts Hibernate ({@code ddl-auto=update}) on a database that still has the plaintext refresh token table,
+ * the way the bundled dev database did before tokens were stored as digests.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(RefreshTokenTableMigration.class)
+class RefreshTokenTableMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws Exception {
+        Path file = Files.createTempFile("library-legacy", ".db");
+        file.toFile().deleteOnExit();
+        String url = "jdbc:sqlite:" + file;
+
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE refresh_tokens (
+                        id integer,
+                        expiry_date timestamp not null,
+                        revoked boolean not null,
+                        token varchar(512) not null unique,
+                        user_id bigint not null,
+                        primary key (id)
+                    )""");
+            statement.execute("INSERT INTO refresh_tokens VALUES (1, 0, 0, 'plaintext-token', 1)");
+        }
+
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+    }
+
+    @Test
+    @DisplayName("The legacy plaintext table is replaced before Hibernate updates the schema")
+    void legacyTable_isRecreatedWithDigestColumns() {
+        // ########## [ Act ] ##########
+        List<String> columns = jdbcTemplate.queryForList(
+                "SELECT name FROM pragma_table_info('refresh_tokens')", String.class);
+
+        // ########## [ Assert ] ##########
+        assertThat(columns).contains("token_hash").doesNotContain("token");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens", Integer.class)).isZero();
+    }
+}
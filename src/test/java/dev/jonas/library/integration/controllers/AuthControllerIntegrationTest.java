@@ -0,0 +1,202 @@
+package dev.jonas.library.integration.controllers;
+
+import com.jayway.jsonpath.JsonPath;
+import dev.jonas.library.entities.RefreshToken;
+import dev.jonas.library.entities.User;
+import dev.jonas.library.repositories.RefreshTokenRepository;
+import dev.jonas.library.repositories.RevokedAccessTokenRepository;
+import dev.jonas.library.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User savedUser;
+
+    @BeforeEach
+    void setUp() {
+        // ########## [ Arrange ] ##########
+        savedUser = userRepository.save(new User(
+                "Greta",
+                "Garbo",
+                "greta.garbo@mail.se",
+                passwordEncoder.encode("secret123"),
+                "1234567890",
+                LocalDateTime.now()
+        ));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAll();
+        revokedAccessTokenRepository.deleteAll();
+        userRepository.deleteById(savedUser.getUserId());
+    }
+
+    @Test
+    void login_hashesOffThreadAndReturnsTokens() throws Exception {
+        // ########## [ Act ] ##########
+        MvcResult pending = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"greta.garbo@mail.se\",\"password\":\"secret123\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // ########## [ Assert ] ##########
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").isNotEmpty());
+    }
+
+    @Test
+    void login_withWrongPassword_returnsUnauthorized() throws Exception {
+        // ########## [ Act ] ##########
+        MvcResult pending = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"greta.garbo@mail.se\",\"password\":\"wrong\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // ########## [ Assert ] ##########
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void login_rehashesLegacyPasswordEncoding() throws Exception {
+        // ########## [ Arrange ] ##########
+        savedUser.setPassword(new BCryptPasswordEncoder(4).encode("secret123")); // unprefixed, low cost
+        userRepository.save(savedUser);
+
+        // ########## [ Act ] ##########
+        MvcResult pending = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"greta.garbo@mail.se\",\"password\":\"secret123\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk());
+
+        // ########## [ Assert ] ##########
+        String storedHash = userRepository.findById(savedUser.getUserId()).orElseThrow().getPassword();
+
+        assertThat(storedHash).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches("secret123", storedHash)).isTrue();
+    }
+
+    @Test
+    void refresh_acceptsIssuedTokenWhileStoringOnlyItsDigest() throws Exception {
+        // ########## [ Arrange ] ##########
+        MvcResult pending = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"greta.garbo@mail.se\",\"password\":\"secret123\"}"))
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(pending)).andReturn().getResponse().getContentAsString();
+        String refreshToken = JsonPath.read(body, "$.refreshToken");
+
+        // ########## [ Assert ] ##########
+        RefreshToken stored = refreshTokenRepository.findById(Long.valueOf(refreshToken.split("\\.")[0])).orElseThrow();
+        assertThat(stored.getTokenHash()).hasSize(32);
+
+        // ########## [ Act & Assert ] ##########
+        MvcResult refreshed = mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\":\"" + refreshToken + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(refreshed))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty());
+    }
+
+    @Test
+    void refresh_withReusedToken_revokesSessionEvenThoughRequestFails() throws Exception {
+        // ########## [ Arrange ] ##########
+        MvcResult pending = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"greta.garbo@mail.se\",\"password\":\"secret123\"}"))
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(pending)).andReturn().getResponse().getContentAsString();
+        String refreshToken = JsonPath.read(body, "$.refreshToken");
+        Long sessionId = Long.valueOf(refreshToken.split("\\.")[0]);
+
+        MvcResult rotated = mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\":\"" + refreshToken + "\"}"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(rotated)).andExpect(status().isOk());
+
+        // ########## [ Act ] ##########
+        MvcResult reused = mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\":\"" + refreshToken + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // ########## [ Assert ] ##########
+        mockMvc.perform(asyncDispatch(reused))
+                .andExpect(status().isUnauthorized());
+        assertThat(refreshTokenRepository.findById(sessionId)).isEmpty();
+    }
+
+    @Test
+    void logout_revokesAccessTokenImmediately() throws Exception {
+        // ########## [ Arrange ] ##########
+        MvcResult pending = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"greta.garbo@mail.se\",\"password\":\"secret123\"}"))
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(pending)).andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + JsonPath.read(body, "$.accessToken");
+
+        mockMvc.perform(get("/users/" + savedUser.getUserId() + "/loans").header("Authorization", bearer))
+                .andExpect(status().isOk());
+
+        // ########## [ Act ] ##########
+        MvcResult loggedOut = mockMvc.perform(post("/auth/logout").header("Authorization", bearer))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(loggedOut))
+                .andExpect(status().isOk());
+
+        // ########## [ Assert ] ##########
+        mockMvc.perform(get("/users/" + savedUser.getUserId() + "/loans").header("Authorization", bearer))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,85 @@
+package dev.jonas.library.integration.controllers;
+
+import com.jayway.jsonpath.JsonPath;
+import dev.jonas.library.entities.Author;
+import dev.jonas.library.entities.Book;
+import dev.jonas.library.repositories.AuthorRepository;
+import dev.jonas.library.repositories.BookRepository;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class BookControllerIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    @DisplayName("Following nextCursor visits every book once, even when a slice ends inside a run of equal titles")
+    void cursorPaging_tieBreaksOnBookId_acrossDuplicateTitles() throws Exception {
+        // ########## [ Arrange ] ##########
+        Author author = authorRepository.save(new Author("Kursiv", "Testsson", 1950, "Sweden"));
+        List<Long> expected = new ArrayList<>();
+        expected.add(bookRepository.save(new Book("Alfa", author, 1990, 1, 1)).getBookId());
+        for (int i = 0; i < 3; i++) {
+            expected.add(bookRepository.save(new Book("Dune", author, 1965, 1, 1)).getBookId());
+        }
+        expected.add(bookRepository.save(new Book("Zeta", author, 2001, 1, 1)).getBookId());
+
+        // ########## [ Act ] ##########
+        // Slices of two: [Alfa, Dune], [Dune, Dune], [Zeta]; the first boundary splits the Dune run.
+        List<Long> visited = new ArrayList<>();
+        List<Integer> sliceSizes = new ArrayList<>();
+        String cursor = "";
+        do {
+            String body = mockMvc.perform(get("/books")
+                            .param("author", "Kursiv Testsson")
+                            .param("after", cursor)
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            List<Number> ids = JsonPath.read(body, "$.content[*].bookId");
+            ids.forEach(id -> visited.add(id.longValue()));
+            sliceSizes.add(ids.size());
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+
+        // ########## [ Assert ] ##########
+        assertThat(visited).containsExactlyElementsOf(expected);
+        assertThat(sliceSizes).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    @DisplayName("A malformed or edited ?after= cursor is rejected with 400")
+    void invalidCursor_returnsBadRequest() throws Exception {
+        // ########## [ Act & Assert ] ##########
+        mockMvc.perform(get("/books").param("after", "not base64!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid pagination cursor."));
+
+        // "eDpEdW5l" is "x:Dune": a cursor whose id was replaced.
+        mockMvc.perform(get("/books").param("after", "eDpEdW5l"))
+                .andExpect(status().isBadRequest());
+    }
+}
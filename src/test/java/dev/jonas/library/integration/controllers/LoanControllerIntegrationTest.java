@@ -2,10 +2,14 @@ package dev.jonas.library.integration.controllers;
 
 import dev.jonas.library.entities.Author;
 import dev.jonas.library.entities.Book;
+import dev.jonas.library.entities.Loan;
 import dev.jonas.library.entities.User;
 import dev.jonas.library.repositories.AuthorRepository;
 import dev.jonas.library.repositories.BookRepository;
+import dev.jonas.library.repositories.LoanRepository;
 import dev.jonas.library.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,15 +18,22 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+// Writes run inline: the writer thread could not see (or lock past) this test's open transaction.
+@SpringBootTest(properties = "library.write-pipeline.enabled=false")
 @AutoConfigureMockMvc
 @Transactional
 class LoanControllerIntegrationTest {
@@ -38,6 +49,12 @@ class LoanControllerIntegrationTest {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @WithMockUser(username = "user@example.com", roles = {"USER", "ADMIN"})
     @Test
     void createLoan_returnsLoanDTO_andDecreasesAvailableCopies() throws Exception {
@@ -79,9 +96,13 @@ class LoanControllerIntegrationTest {
         // ########## [ Act & Assert ] ##########
         int before = savedBook.getAvailableCopies();
 
-        mockMvc.perform(post("/loans")
+        MvcResult pending = mockMvc.perform(post("/loans")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(jsonPayload))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.book.title").value("The Hobbit"))
                 .andExpect(jsonPath("$.user.firstName").value("Hasse"))
@@ -92,4 +113,154 @@ class LoanControllerIntegrationTest {
 
     }
 
-}
\ No newline at end of file
+    @WithMockUser(username = "user@example.com", roles = {"USER", "ADMIN"})
+    @Test
+    void getLoans_pagesThroughFilteredSlicesWithCursor() throws Exception {
+        // ########## [ Arrange ] ##########
+        Author author = authorRepository.save(new Author("Ursula", "Le Guin", 1929, "USA"));
+        Book book = bookRepository.save(new Book("The Dispossessed", author, 1974, 5, 5));
+        User user = userRepository.save(new User(
+                "Hasse",
+                "Målvakt",
+                "hasse.malvakt@mail.se",
+                "123",
+                "1234567890",
+                LocalDateTime.now()
+        ));
+
+        LocalDate today = LocalDate.now();
+        Loan first = loanRepository.save(new Loan(user, book, today.minusDays(3), today.plusDays(11)));
+        Loan second = loanRepository.save(new Loan(user, book, today.minusDays(2), today.plusDays(12)));
+        Loan third = loanRepository.save(new Loan(user, book, today.minusDays(1), today.plusDays(13)));
+        Loan returned = new Loan(user, book, today.minusDays(30), today.minusDays(16));
+        returned.setReturnedDate(today.minusDays(20));
+        loanRepository.save(returned);
+
+        // ########## [ Act & Assert ] ##########
+        mockMvc.perform(get("/loans")
+                        .param("userId", user.getUserId().toString())
+                        .param("status", "ACTIVE")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.content[0].loanId").value(first.getLoanId()))
+                .andExpect(jsonPath("$.content[0].book.title").value("The Dispossessed"))
+                .andExpect(jsonPath("$.nextCursor").value(second.getLoanId()));
+
+        mockMvc.perform(get("/loans")
+                        .param("userId", user.getUserId().toString())
+                        .param("status", "ACTIVE")
+                        .param("size", "2")
+                        .param("after", second.getLoanId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.content[0].loanId").value(third.getLoanId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/loans")
+                        .param("userId", user.getUserId().toString())
+                        .param("status", "RETURNED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.content[0].loanId").value(returned.getLoanId()));
+    }
+
+    @WithMockUser(username = "user@example.com", roles = {"USER", "ADMIN"})
+    @Test
+    void checkoutBooks_reportsOutcomePerItem_andClaimsCopiesInOneGo() throws Exception {
+        // ########## [ Arrange ] ##########
+        Author author = authorRepository.save(new Author("Astrid", "Lindgren", 1907, "Sweden"));
+        Book lastCopy = bookRepository.save(new Book("Mio, min Mio", author, 1954, 1, 1));
+        Book onShelf = bookRepository.save(new Book("Ronja Rövardotter", author, 1981, 2, 2));
+        User user = userRepository.save(new User(
+                "Hasse",
+                "Målvakt",
+                "hasse.malvakt@mail.se",
+                "123",
+                "1234567890",
+                LocalDateTime.now()
+        ));
+
+        String jsonPayload = String.format("""
+                {
+                  "userId": %d,
+                  "bookIds": [%d, %d, %d, 999999]
+                }
+                """, user.getUserId(), lastCopy.getBookId(), lastCopy.getBookId(), onShelf.getBookId());
+
+        // ########## [ Act & Assert ] ##########
+        MvcResult pending = mockMvc.perform(post("/loans/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonPayload))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.items[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.items[0].loanId").exists())
+                .andExpect(jsonPath("$.items[1].outcome").value("UNAVAILABLE"))
+                .andExpect(jsonPath("$.items[2].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.items[3].outcome").value("BOOK_NOT_FOUND"));
+
+        entityManager.clear();
+        assertEquals(0, bookRepository.findById(lastCopy.getBookId()).orElseThrow().getAvailableCopies());
+        assertEquals(1, bookRepository.findById(onShelf.getBookId()).orElseThrow().getAvailableCopies());
+        assertEquals(2, loanRepository.findHistoryByUserId(user.getUserId()).size());
+    }
+
+    @WithMockUser(username = "user@example.com", roles = {"USER", "ADMIN"})
+    @Test
+    void returnLoans_reportsOutcomePerItem_andReleasesCopiesPerBook() throws Exception {
+        // ########## [ Arrange ] ##########
+        Author author = authorRepository.save(new Author("Astrid", "Lindgren", 1907, "Sweden"));
+        Book book = bookRepository.save(new Book("Bröderna Lejonhjärta", author, 1973, 1, 3));
+        User user = userRepository.save(new User(
+                "Hasse",
+                "Målvakt",
+                "hasse.malvakt@mail.se",
+                "123",
+                "1234567890",
+                LocalDateTime.now()
+        ));
+
+        LocalDate today = LocalDate.now();
+        Loan first = loanRepository.save(new Loan(user, book, today, today.plusDays(14)));
+        Loan second = loanRepository.save(new Loan(user, book, today, today.plusDays(14)));
+        Loan returned = new Loan(user, book, today.minusDays(20), today.minusDays(6));
+        returned.setReturnedDate(today.minusDays(10));
+        loanRepository.save(returned);
+        entityManager.flush();
+
+        String jsonPayload = String.format("""
+                {
+                  "loanIds": [%d, %d, %d, %d, 999999]
+                }
+                """, first.getLoanId(), second.getLoanId(), first.getLoanId(), returned.getLoanId());
+
+        // ########## [ Act & Assert ] ##########
+        MvcResult pending = mockMvc.perform(put("/loans/return")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonPayload))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.items[0].outcome").value("RETURNED"))
+                .andExpect(jsonPath("$.items[1].outcome").value("RETURNED"))
+                .andExpect(jsonPath("$.items[2].outcome").value("ALREADY_RETURNED"))
+                .andExpect(jsonPath("$.items[3].outcome").value("ALREADY_RETURNED"))
+                .andExpect(jsonPath("$.items[4].outcome").value("LOAN_NOT_FOUND"));
+
+        entityManager.clear();
+        assertEquals(3, bookRepository.findById(book.getBookId()).orElseThrow().getAvailableCopies());
+        assertEquals(today, loanRepository.findById(first.getLoanId()).orElseThrow().getReturnedDate());
+    }
+
+}
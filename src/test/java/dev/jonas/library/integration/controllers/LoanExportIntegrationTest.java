@@ -0,0 +1,135 @@
+package dev.jonas.library.integration.controllers;
+
+import dev.jonas.library.entities.Author;
+import dev.jonas.library.entities.Book;
+import dev.jonas.library.entities.Loan;
+import dev.jonas.library.entities.User;
+import dev.jonas.library.repositories.AuthorRepository;
+import dev.jonas.library.repositories.BookRepository;
+import dev.jonas.library.repositories.LoanRepository;
+import dev.jonas.library.repositories.UserRepository;
+import dev.jonas.library.security.CustomUserDetails;
+import dev.jonas.library.security.jwt.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the export body is written on an async thread with its own connection.
+@SpringBootTest
+@AutoConfigureMockMvc
+class LoanExportIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    private Author author;
+    private Book book;
+    private User user;
+    private List<Loan> loans;
+
+    @BeforeEach
+    void setUp() {
+        // ########## [ Arrange ] ##########
+        author = authorRepository.save(new Author("Ursula", "Le Guin", 1929, "USA"));
+        book = bookRepository.save(new Book("The Lathe of Heaven", author, 1971, 5, 5));
+        user = userRepository.save(new User(
+                "Hasse",
+                "Målvakt",
+                "hasse.export@mail.se",
+                "123",
+                "1234567890",
+                LocalDateTime.now()
+        ));
+
+        LocalDate today = LocalDate.now();
+        Loan returned = new Loan(user, book, today.minusDays(30), today.minusDays(16));
+        returned.setReturnedDate(today.minusDays(20));
+        loans = loanRepository.saveAll(List.of(
+                new Loan(user, book, today.minusDays(2), today.plusDays(12)),
+                new Loan(user, book, today.minusDays(1), today.plusDays(13)),
+                returned
+        ));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        loanRepository.deleteAll(loans);
+        userRepository.delete(user);
+        bookRepository.delete(book);
+        authorRepository.delete(author);
+    }
+
+    @Test
+    void exportLoans_streamsOneJsonObjectPerLine() throws Exception {
+        // ########## [ Act ] ##########
+        MvcResult started = mockMvc.perform(get("/loans/export")
+                        .param("userId", user.getUserId().toString())
+                        .param("status", "ACTIVE")
+                        .header("Authorization", bearerToken("ROLE_ADMIN")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // ########## [ Assert ] ##########
+        List<String> lines = body.lines().toList();
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0))
+                .contains("\"loanId\":" + loans.get(0).getLoanId())
+                .contains("\"title\":\"The Lathe of Heaven\"")
+                .contains("\"email\":\"hasse.export@mail.se\"")
+                .contains("\"dueDate\":\"" + LocalDate.now().plusDays(12) + "\"");
+        assertThat(lines.get(1)).contains("\"loanId\":" + loans.get(1).getLoanId());
+    }
+
+    @Test
+    void exportLoans_requiresAdmin() throws Exception {
+        // ########## [ Act & Assert ] ##########
+        mockMvc.perform(get("/loans/export")
+                        .header("Authorization", bearerToken("ROLE_USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private String bearerToken(String role) {
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
+        return "Bearer " + jwtUtil.generateToken(new CustomUserDetails(user, authorities));
+    }
+}
@@ -0,0 +1,194 @@
+package dev.jonas.library.integration.controllers;
+
+import dev.jonas.library.entities.User;
+import dev.jonas.library.repositories.RefreshTokenRepository;
+import dev.jonas.library.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Floods {@code /auth/login} past the password-hashing pool (one thread, a short queue, an expensive
+ * BCrypt cost) over real HTTP and reads the catalog while the pool is saturated.
+ * Read latencies are logged; the assertions are relative to the storm itself: excess logins are shed
+ * with 503 and a catalog read never waits as long as a typical accepted login.
+ */
+@Slf4j
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "library.security.password-hashing.threads=1",
+                "library.security.password-hashing.queue-capacity=8",
+                "library.security.password-hashing.bcrypt-strength=12"
+        }
+)
+class LoginStormTest {
+
+    private static final int LOGINS = 40;
+    private static final int CATALOG_READERS = 4;
+    private static final int CATALOG_READS = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private User user;
+
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteById(user.getUserId());
+    }
+
+    @Test
+    @DisplayName("A login storm is shed with 503 while catalog reads stay fast")
+    void loginStorm_shedsExcessLogins_andCatalogStaysFast() throws Exception {
+        // ########## [ Arrange ] ##########
+        user = userRepository.save(new User(
+                "Greta",
+                "Garbo",
+                "greta.storm@mail.se",
+                passwordEncoder.encode("secret123"),
+                "1234567890",
+                LocalDateTime.now()
+        ));
+        HttpRequest login = HttpRequest.newBuilder(uri("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"greta.storm@mail.se\",\"password\":\"secret123\"}"))
+                .build();
+        HttpRequest catalog = HttpRequest.newBuilder(uri("/books?size=20")).GET().build();
+        readCatalog(catalog); // warm-up
+        List<Long> baseline = readCatalog(catalog);
+
+        // ########## [ Act ] ##########
+        ExecutorService storm = Executors.newFixedThreadPool(LOGINS);
+        List<Long> acceptedLoginMillis = Collections.synchronizedList(new ArrayList<>());
+        List<Future<Integer>> statuses = new ArrayList<>();
+        List<Long> duringStorm;
+        double activeAfterReads;
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            for (int i = 0; i < LOGINS; i++) {
+                statuses.add(storm.submit(() -> {
+                    start.await();
+                    long startNanos = System.nanoTime();
+                    int status = client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status == 200) {
+                        acceptedLoginMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                    }
+                    return status;
+                }));
+            }
+            start.countDown();
+            awaitHashingBusy();
+
+            duringStorm = readCatalog(catalog);
+            activeAfterReads = meterRegistry.get("executor.active").tag("name", "password-hashing").gauge().value();
+            for (Future<Integer> status : statuses) {
+                status.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            storm.shutdownNow();
+        }
+
+        long accepted = countStatus(statuses, 200);
+        long shed = countStatus(statuses, 503);
+        long medianLogin = percentile(acceptedLoginMillis, 50);
+        log.info("logins: {} accepted, {} shed with 503, median accepted {} ms", accepted, shed, medianLogin);
+        log.info("catalog p99: {} ms idle, {} ms during the storm", percentile(baseline, 99), percentile(duringStorm, 99));
+
+        // ########## [ Assert ] ##########
+        assertThat(accepted + shed).isEqualTo(LOGINS);
+        assertThat(accepted).isPositive();
+        assertThat(shed).isPositive();
+        assertThat(activeAfterReads).isEqualTo(1.0); // the reads overlapped a saturated pool
+        assertThat(percentile(duringStorm, 99)).isLessThan(medianLogin);
+    }
+
+    // ==================== [ Helpers ] ====================
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /** Reads the catalog from a few threads and returns each read's latency in milliseconds. */
+    private List<Long> readCatalog(HttpRequest catalog) throws Exception {
+        ExecutorService readers = Executors.newFixedThreadPool(CATALOG_READERS);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        try {
+            List<Future<?>> reads = new ArrayList<>();
+            for (int i = 0; i < CATALOG_READS; i++) {
+                reads.add(readers.submit(() -> {
+                    long startNanos = System.nanoTime();
+                    HttpResponse<Void> response = client.send(catalog, HttpResponse.BodyHandlers.discarding());
+                    latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                    assertThat(response.statusCode()).isEqualTo(200);
+                    return null;
+                }));
+            }
+            for (Future<?> read : reads) {
+                read.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        return latencies;
+    }
+
+    private void awaitHashingBusy() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static long countStatus(List<Future<Integer>> statuses, int expected) throws Exception {
+        long count = 0;
+        for (Future<Integer> status : statuses) {
+            if (status.get() == expected) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long percentile(List<Long> samples, int percentile) {
+        List<Long> sorted = samples.stream().sorted().toList();
+        return sorted.get(Math.max(0, (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1));
+    }
+}
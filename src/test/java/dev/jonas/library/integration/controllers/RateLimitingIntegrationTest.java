@@ -0,0 +1,96 @@
+package dev.jonas.library.integration.controllers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "library.rate-limit.policies[0].name=catalog-browse",
+        "library.rate-limit.policies[0].methods=GET",
+        "library.rate-limit.policies[0].paths=/books/**",
+        "library.rate-limit.policies[0].capacity=2",
+        "library.rate-limit.policies[0].period=1m",
+        "library.rate-limit.trusted-proxies=10.9.0.0/16"
+})
+@AutoConfigureMockMvc
+class RateLimitingIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Matching route is limited per policy and reports Retry-After once exhausted")
+    void catalogPolicy_rejectsWithRetryAfterWhenExhausted() throws Exception {
+        // ########## [ Act & Assert ] ##########
+        mockMvc.perform(get("/books").with(peer("10.0.0.1")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Remaining", "1"));
+
+        mockMvc.perform(get("/books").with(peer("10.0.0.1")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Remaining", "0"));
+
+        mockMvc.perform(get("/books").with(peer("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        // Other clients have their own bucket for the same policy.
+        mockMvc.perform(get("/books").with(peer("10.0.0.2")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Routes without a matching policy are not limited")
+    void unmatchedRoute_isNotLimited() throws Exception {
+        // ########## [ Act & Assert ] ##########
+        mockMvc.perform(get("/authors").with(peer("10.0.0.3")))
+                .andExpect(header().doesNotExist("X-RateLimit-Remaining"));
+    }
+
+    @Test
+    @DisplayName("X-Forwarded-For from an untrusted peer is ignored, so rotating it does not reset the limit")
+    void forwardedFor_fromUntrustedPeer_isIgnored() throws Exception {
+        // ########## [ Act & Assert ] ##########
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/books").with(peer("10.0.0.4")).header("X-Forwarded-For", "203.0.113." + i))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/books").with(peer("10.0.0.4")).header("X-Forwarded-For", "203.0.113.99"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("Behind a trusted proxy each forwarded client has its own bucket")
+    void forwardedFor_fromTrustedProxy_identifiesClient() throws Exception {
+        // ########## [ Act & Assert ] ##########
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/books").with(peer("10.9.0.1")).header("X-Forwarded-For", "203.0.113.5"))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/books").with(peer("10.9.0.1")).header("X-Forwarded-For", "203.0.113.5"))
+                .andExpect(status().isTooManyRequests());
+
+        // A value the client prepended itself is skipped: the rightmost hop our proxies did not add wins.
+        mockMvc.perform(get("/books").with(peer("10.9.0.1")).header("X-Forwarded-For", "198.51.100.7, 203.0.113.5, 10.9.0.2"))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get("/books").with(peer("10.9.0.1")).header("X-Forwarded-For", "203.0.113.6"))
+                .andExpect(status().isOk());
+    }
+
+    private static RequestPostProcessor peer(String remoteAddr) {
+        return request -> {
+            request.setRemoteAddr(remoteAddr);
+            return request;
+        };
+    }
+}
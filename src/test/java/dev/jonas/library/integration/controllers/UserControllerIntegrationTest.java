@@ -0,0 +1,159 @@
+package dev.jonas.library.integration.controllers;
+
+import dev.jonas.library.entities.Author;
+import dev.jonas.library.entities.Book;
+import dev.jonas.library.entities.Loan;
+import dev.jonas.library.entities.User;
+import dev.jonas.library.repositories.AuthorRepository;
+import dev.jonas.library.repositories.BookRepository;
+import dev.jonas.library.repositories.LoanRepository;
+import dev.jonas.library.repositories.UserRepository;
+import dev.jonas.library.security.CustomUserDetails;
+import dev.jonas.library.security.jwt.JwtUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+class UserControllerIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final int LOANS = 5;
+
+    private User savedUser;
+    private String bearerToken;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // ########## [ Arrange ] ##########
+        savedUser = userRepository.save(new User(
+                "Hasse",
+                "Målvakt",
+                "hasse.malvakt@mail.se",
+                "123",
+                "1234567890",
+                LocalDateTime.now()
+        ));
+
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        bearerToken = "Bearer " + jwtUtil.generateToken(new CustomUserDetails(savedUser, authorities));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getUserByEmail_resolvesCallerWithoutExtraQueries() throws Exception {
+        // ########## [ Act & Assert ] ##########
+        mockMvc.perform(get("/users/email/" + savedUser.getEmail())
+                        .header("Authorization", bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("hasse.malvakt@mail.se"));
+
+        // Only the target user lookup; the caller comes from the token.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getLoansByUserId_resolvesCallerWithoutExtraQueries() throws Exception {
+        // ########## [ Act & Assert ] ##########
+        mockMvc.perform(get("/users/" + savedUser.getUserId() + "/loans")
+                        .header("Authorization", bearerToken))
+                .andExpect(status().isOk());
+
+        // Only the loan query itself.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getLoansByUserId_loadsBooksAuthorsAndUserInOneStatement() throws Exception {
+        // ########## [ Arrange ] ##########
+        seedLoans(LOANS);
+
+        // ########## [ Act & Assert ] ##########
+        mockMvc.perform(get("/users/" + savedUser.getUserId() + "/loans")
+                        .header("Authorization", bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(LOANS))
+                .andExpect(jsonPath("$[0].book.authorName").value("Author 0"))
+                .andExpect(jsonPath("$[0].user.email").value("hasse.malvakt@mail.se"));
+
+        // No lazy loading per loan, book or author.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getLoansForCurrentUser_skipsUserLookupAndLoadsEverythingInOneStatement() throws Exception {
+        // ########## [ Arrange ] ##########
+        seedLoans(LOANS);
+
+        // ########## [ Act & Assert ] ##########
+        mockMvc.perform(get("/loans/me")
+                        .header("Authorization", bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(LOANS))
+                .andExpect(jsonPath("$[0].book.authorName").value("Author 0"));
+
+        // The loans are found through the joined user's email; no separate user query.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // ==================== [ Helpers ] ====================
+    // Each loan gets its own book and author, so any lazy load would show up as extra statements.
+    private void seedLoans(int count) {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < count; i++) {
+            Author author = authorRepository.save(new Author("Author", String.valueOf(i), 1900, "Sweden"));
+            Book book = bookRepository.save(new Book("Book " + i, author, 2000, 1, 1));
+            loanRepository.save(new Loan(savedUser, book, today, today.plusDays(14)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+}
@@ -0,0 +1,142 @@
+package dev.jonas.library.integration.services;
+
+import dev.jonas.library.dtos.book.BookDetailsDTO;
+import dev.jonas.library.entities.Author;
+import dev.jonas.library.entities.Book;
+import dev.jonas.library.mappers.EntityToDtoMapper;
+import dev.jonas.library.repositories.BookRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares a catalog page read by hydrating {@link Book} entities (then mapping them to {@link BookDetailsDTO})
+ * with the same page read through the {@code findAllDetails} projection. Time and bytes allocated per request
+ * are logged, not asserted, since they depend on the machine; identical results and an empty persistence
+ * context on the projection path are.
+ */
+@Slf4j
+@SpringBootTest
+class BookCatalogReadBenchmarkTest {
+
+    private static final int BOOKS = 500;
+    private static final int PAGE_SIZE = 100;
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> authorIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        authorIds.forEach(id -> {
+            jdbcTemplate.update("DELETE FROM books WHERE author_id = ?", id);
+            jdbcTemplate.update("DELETE FROM authors WHERE author_id = ?", id);
+        });
+    }
+
+    @Test
+    @DisplayName("Projected catalog pages match hydrated ones without putting entities in the persistence context")
+    void hydratedVersusProjectedCatalogPage() {
+        // ########## [ Arrange ] ##########
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int a = 0; a < BOOKS / 10; a++) {
+                Author author = new Author("Bench" + a, "Author" + a, 1900, "Sweden");
+                entityManager.persist(author);
+                authorIds.add(author.getAuthorId());
+                for (int b = 0; b < 10; b++) {
+                    entityManager.persist(new Book("Bench book " + a + "-" + b, author, 2000, 1, 1));
+                }
+            }
+        });
+        PageRequest page = PageRequest.of(0, PAGE_SIZE, Sort.by("bookId"));
+
+        Supplier<List<BookDetailsDTO>> hydrated = () -> readOnly.execute(status -> entityManager
+                .createQuery("SELECT b FROM Book b LEFT JOIN FETCH b.author ORDER BY b.bookId", Book.class)
+                .setMaxResults(PAGE_SIZE)
+                .getResultStream()
+                .map(EntityToDtoMapper::mapToBookDetailsDto)
+                .toList());
+        Supplier<List<BookDetailsDTO>> projected = () -> readOnly.execute(status ->
+                bookRepository.findAllDetails(page).getContent());
+
+        // ########## [ Act ] ##########
+        Run entities = run(hydrated);
+        Run projections = run(projected);
+        entities.report("entities");
+        projections.report("projection");
+
+        long managedAfterProjection = readOnly.execute(status -> {
+            bookRepository.findAllDetails(page);
+            return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+        long managedAfterHydration = readOnly.execute(status -> {
+            entityManager.createQuery("SELECT b FROM Book b LEFT JOIN FETCH b.author", Book.class)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+
+        // ########## [ Assert ] ##########
+        assertThat(projected.get())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(hydrated.get());
+        assertThat(managedAfterProjection).isZero();
+        assertThat(managedAfterHydration).isGreaterThanOrEqualTo(PAGE_SIZE);
+    }
+
+    // ==================== [ Helpers ] ====================
+    private record Run(long elapsedMicrosPerRead, long bytesPerRead) {
+        void report(String path) {
+            log.info("{}: {} rows per read, {} us/read, {} KiB allocated/read",
+                    path, PAGE_SIZE, elapsedMicrosPerRead, bytesPerRead / 1024);
+        }
+    }
+
+    private static Run run(Supplier<List<BookDetailsDTO>> read) {
+        for (int i = 0; i < ROUNDS; i++) {
+            read.get(); // warm-up
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long startBytes = threads.getCurrentThreadAllocatedBytes();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            assertThat(read.get()).hasSize(PAGE_SIZE);
+        }
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - startBytes;
+
+        return new Run(elapsedMicros / ROUNDS, allocated / ROUNDS);
+    }
+}
@@ -0,0 +1,103 @@
+package dev.jonas.library.integration.services;
+
+import dev.jonas.library.entities.Author;
+import dev.jonas.library.entities.Book;
+import dev.jonas.library.exceptions.api.BookUnavailableException;
+import dev.jonas.library.repositories.AuthorRepository;
+import dev.jonas.library.repositories.BookRepository;
+import dev.jonas.library.services.book.BookServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+class BookCheckoutConcurrencyTest {
+
+    private static final int COPIES = 25;
+    private static final int CHECKOUTS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    private Book book;
+    private Author author;
+
+    @AfterEach
+    void cleanUp() {
+        if (book != null) bookRepository.deleteById(book.getBookId());
+        if (author != null) authorRepository.deleteById(author.getAuthorId());
+    }
+
+    @Test
+    @DisplayName("decrementAvailableCopies() never oversells under parallel checkouts")
+    void parallelCheckouts_neverOversell() throws Exception {
+        // ########## [ Arrange ] ##########
+        author = authorRepository.save(new Author("Frank", "Herbert", 1920, "USA"));
+        book = bookRepository.save(new Book("Dune", author, 1965, COPIES, COPIES));
+        Long bookId = book.getBookId();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        // ########## [ Act ] ##########
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    bookService.decrementAvailableCopies(bookId);
+                    succeeded.incrementAndGet();
+                } catch (BookUnavailableException e) {
+                    rejected.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet(); // e.g. SQLITE_BUSY; must not happen for a single guarded UPDATE
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        pool.shutdown();
+
+        log.info("Checkout throughput: {} attempts in {} ms ({}/s), {} ok, {} rejected",
+                CHECKOUTS, elapsedMillis, CHECKOUTS * 1000L / elapsedMillis, succeeded.get(), rejected.get());
+
+        // ########## [ Assert ] ##########
+        int remaining = bookRepository.findById(bookId).orElseThrow().getAvailableCopies();
+
+        assertThat(failed.get()).isZero();
+        assertThat(succeeded.get()).isEqualTo(COPIES);
+        assertThat(rejected.get()).isEqualTo(CHECKOUTS - COPIES);
+        assertThat(remaining).isZero();
+    }
+}
@@ -0,0 +1,145 @@
+package dev.jonas.library.integration.services;
+
+import dev.jonas.library.security.ratelimit.DistributedBucketStore;
+import dev.jonas.library.security.ratelimit.JdbcBucketProxyManager;
+import dev.jonas.library.security.ratelimit.RateLimitProperties;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two {@link DistributedBucketStore} instances on one {@code rate_limit_buckets} table, standing in for two nodes.
+ */
+@SpringBootTest
+class DistributedBucketStoreTest {
+
+    private static final long CAPACITY = 5;
+    private static final long MAX_UNSYNCED_TOKENS = 1;
+    private static final Supplier<BucketConfiguration> LOGIN = () -> BucketConfiguration.builder()
+            .addLimit(Bandwidth.simple(CAPACITY, Duration.ofMinutes(1)))
+            .build();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private DistributedBucketStore nodeA;
+    private DistributedBucketStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        // ########## [ Arrange ] ##########
+        nodeA = node();
+        nodeB = node();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM " + JdbcBucketProxyManager.TABLE + " WHERE id LIKE 'test:%'");
+    }
+
+    @Test
+    @DisplayName("Nodes share one limit: tokens taken on one node are gone on the other")
+    void nodes_shareOneLimit() {
+        // ########## [ Act ] ##########
+        Bucket onA = nodeA.resolve("test:login:10.0.0.1", LOGIN);
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(onA.tryConsume(1)).isTrue();
+        }
+        ((BucketProxy) onA).getOptimizationController().syncImmediately();
+
+        // ########## [ Assert ] ##########
+        assertThat(nodeB.resolve("test:login:10.0.0.1", LOGIN).tryConsume(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Interleaved requests on two nodes overshoot the limit by at most the unsynced allowance per node")
+    void interleavedRequests_stayWithinUnsyncedAllowance() {
+        // ########## [ Act ] ##########
+        Bucket onA = nodeA.resolve("test:login:10.0.0.2", LOGIN);
+        Bucket onB = nodeB.resolve("test:login:10.0.0.2", LOGIN);
+        int granted = 0;
+        for (int i = 0; i < CAPACITY * 4; i++) {
+            if ((i % 2 == 0 ? onA : onB).tryConsume(1)) {
+                granted++;
+            }
+        }
+
+        // ########## [ Assert ] ##########
+        assertThat(granted).isBetween((int) CAPACITY, (int) (CAPACITY + 2 * MAX_UNSYNCED_TOKENS));
+    }
+
+    @Test
+    @DisplayName("The sweep deletes idle rows and keeps recently written ones")
+    void sweep_removesOnlyIdleRows() {
+        // ########## [ Arrange ] ##########
+        Bucket idle = nodeA.resolve("test:login:10.0.0.3", LOGIN);
+        idle.tryConsume(1);
+        ((BucketProxy) idle).getOptimizationController().syncImmediately();
+        Bucket active = nodeB.resolve("test:login:10.0.0.4", LOGIN);
+        active.tryConsume(1);
+        ((BucketProxy) active).getOptimizationController().syncImmediately();
+
+        jdbcTemplate.update("UPDATE " + JdbcBucketProxyManager.TABLE + " SET updated_at = 0 WHERE id = ?", "test:login:10.0.0.3");
+
+        // ########## [ Act ] ##########
+        nodeB.sweepIdleBuckets();
+
+        // ########## [ Assert ] ##########
+        List<String> remaining = jdbcTemplate.queryForList(
+                "SELECT id FROM " + JdbcBucketProxyManager.TABLE + " WHERE id LIKE 'test:%'", String.class);
+        assertThat(remaining).containsExactly("test:login:10.0.0.4");
+    }
+
+    @Test
+    @DisplayName("A bucket table from before idle sweeping gains the updated_at column on startup")
+    void legacyTable_gainsUpdatedAtColumn() {
+        // ########## [ Arrange ] ##########
+        jdbcTemplate.execute("DROP TABLE " + JdbcBucketProxyManager.TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + JdbcBucketProxyManager.TABLE + " (id VARCHAR(255) PRIMARY KEY, state BLOB NOT NULL)");
+
+        // ########## [ Act ] ##########
+        DistributedBucketStore restarted = node();
+        restarted.resolve("test:login:10.0.0.5", LOGIN).tryConsume(1);
+
+        // ########## [ Assert ] ##########
+        Long updatedAt = jdbcTemplate.queryForObject(
+                "SELECT updated_at FROM " + JdbcBucketProxyManager.TABLE + " WHERE id = ?", Long.class, "test:login:10.0.0.5");
+        assertThat(updatedAt).isPositive();
+    }
+
+    // ########## [ Helpers ] ##########
+    private DistributedBucketStore node() {
+        RateLimitProperties.Policy login = new RateLimitProperties.Policy();
+        login.setName("login");
+        login.setCapacity(CAPACITY);
+        login.setPeriod(Duration.ofMinutes(1));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPolicies(List.of(login));
+
+        return new DistributedBucketStore(
+                jdbcTemplate,
+                new SimpleMeterRegistry(),
+                properties,
+                1_000,
+                Duration.ofMinutes(10),
+                MAX_UNSYNCED_TOKENS,
+                Duration.ofMillis(500),
+                100
+        );
+    }
+}
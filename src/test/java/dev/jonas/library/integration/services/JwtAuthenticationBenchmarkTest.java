@@ -0,0 +1,146 @@
+package dev.jonas.library.integration.services;
+
+import dev.jonas.library.entities.Role;
+import dev.jonas.library.entities.User;
+import dev.jonas.library.entities.UserRole;
+import dev.jonas.library.repositories.RoleRepository;
+import dev.jonas.library.repositories.UserRepository;
+import dev.jonas.library.repositories.UserRoleRepository;
+import dev.jonas.library.security.jwt.JwtAuthFilter;
+import dev.jonas.library.security.jwt.JwtUtil;
+import dev.jonas.library.services.auth.UserDetailsServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the per-request cost of {@link JwtAuthFilter} when it builds the principal from the verified
+ * claims (stateless) with the database-backed mode that loads the user on every request.
+ * Time is logged, not asserted, since it depends on the machine; the identical principal and the
+ * statement counts of both modes are.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class JwtAuthenticationBenchmarkTest {
+
+    private static final int REQUESTS = 2_000;
+
+    @Autowired
+    private JwtAuthFilter jwtAuthFilter;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @AfterEach
+    void cleanUp() {
+        ReflectionTestUtils.setField(jwtAuthFilter, "statelessAuth", true);
+        SecurityContextHolder.clearContext();
+        userRoleRepository.deleteAll(userRoleRepository.findByUserId(user.getUserId()));
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Stateless authentication yields the same principal as the DB path without any statements")
+    void statelessVersusDatabaseBackedAuthentication() throws Exception {
+        // ########## [ Arrange ] ##########
+        user = userRepository.save(new User(
+                "Greta",
+                "Garbo",
+                "greta.jwt@mail.se",
+                "hash",
+                "1234567890",
+                LocalDateTime.now()
+        ));
+        Role role = roleRepository.findByRoleName("USER").orElseGet(() -> {
+            Role created = new Role();
+            created.setRoleName("USER");
+            return roleRepository.save(created);
+        });
+        userRoleRepository.save(new UserRole(user.getUserId(), role.getRoleId()));
+        String token = jwtUtil.generateToken(userDetailsService.loadUserByUsername(user.getEmail()));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // ########## [ Act ] ##########
+        ReflectionTestUtils.setField(jwtAuthFilter, "statelessAuth", true);
+        Run stateless = run(token, statistics);
+        ReflectionTestUtils.setField(jwtAuthFilter, "statelessAuth", false);
+        Run database = run(token, statistics);
+        stateless.report("stateless");
+        database.report("database");
+
+        // ########## [ Assert ] ##########
+        assertThat(stateless.username()).isEqualTo(database.username()).isEqualTo("greta.jwt@mail.se");
+        assertThat(stateless.authorities()).isEqualTo(database.authorities()).isEqualTo("[ROLE_USER]");
+        assertThat(stateless.statements()).isZero();
+        assertThat(database.statements()).isGreaterThanOrEqualTo(REQUESTS); // at least the user lookup per request
+    }
+
+    // ==================== [ Helpers ] ====================
+    private record Run(String username, String authorities, long statements, long elapsedMicros) {
+        void report(String mode) {
+            log.info("{}: {} requests, {} us/request, {} statements", mode, REQUESTS, elapsedMicros / REQUESTS, statements);
+        }
+    }
+
+    private Run run(String token, Statistics statistics) throws Exception {
+        for (int i = 0; i < REQUESTS; i++) {
+            authenticate(token); // warm-up
+        }
+
+        statistics.clear();
+        Authentication last = null;
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            last = authenticate(token);
+        }
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+
+        assertThat(last).isNotNull();
+        String authorities = last.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().toList().toString();
+        return new Run(last.getName(), authorities, statistics.getPrepareStatementCount(), elapsedMicros);
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,147 @@
+package dev.jonas.library.integration.services;
+
+import dev.jonas.library.entities.RefreshToken;
+import dev.jonas.library.entities.User;
+import dev.jonas.library.exceptions.security.InvalidCredentialsException;
+import dev.jonas.library.repositories.RefreshTokenRepository;
+import dev.jonas.library.repositories.RetiredRefreshTokenRepository;
+import dev.jonas.library.repositories.UserRepository;
+import dev.jonas.library.services.auth.RefreshTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "library.security.refresh-tokens.max-per-user=3")
+class RefreshTokenRotationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RetiredRefreshTokenRepository retiredRefreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Sven", "Svensson", "sven@mail.se", "hash", "1234567890", LocalDateTime.now()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        retiredRefreshTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteById(user.getUserId());
+    }
+
+    @Test
+    @DisplayName("Rotation keeps one row per session and rejects the consumed token")
+    void rotate_replacesSecretInPlace() {
+        // ########## [ Arrange ] ##########
+        String original = refreshTokenService.createRefreshToken(user);
+
+        // ########## [ Act ] ##########
+        RefreshToken session = refreshTokenService.validateAndGetToken(original);
+        String rotated = refreshTokenService.rotateRefreshToken(session);
+
+        // ########## [ Assert ] ##########
+        assertThat(rotated).startsWith(session.getId() + ".");
+        assertThat(refreshTokenRepository.count()).isEqualTo(1);
+        assertThat(refreshTokenService.validateAndGetToken(rotated).getId()).isEqualTo(session.getId());
+    }
+
+    @Test
+    @DisplayName("Reusing a rotated token revokes the whole session")
+    void reuseOfRotatedToken_revokesSession() {
+        // ########## [ Arrange ] ##########
+        String original = refreshTokenService.createRefreshToken(user);
+        String rotated = refreshTokenService.rotateRefreshToken(refreshTokenService.validateAndGetToken(original));
+
+        // ########## [ Act & Assert ] ##########
+        assertThatThrownBy(() -> refreshTokenService.validateAndGetToken(original))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessageContaining("reuse");
+
+        assertThatThrownBy(() -> refreshTokenService.validateAndGetToken(rotated))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThat(refreshTokenRepository.count()).isZero();
+        assertThat(retiredRefreshTokenRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Reusing any earlier token of the session revokes it, not just the last one")
+    void reuseOfOlderToken_revokesSession() {
+        // ########## [ Arrange ] ##########
+        String original = refreshTokenService.createRefreshToken(user);
+        String second = refreshTokenService.rotateRefreshToken(refreshTokenService.validateAndGetToken(original));
+        String third = refreshTokenService.rotateRefreshToken(refreshTokenService.validateAndGetToken(second));
+
+        // ########## [ Act & Assert ] ##########
+        assertThatThrownBy(() -> refreshTokenService.validateAndGetToken(original))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessageContaining("reuse");
+
+        assertThatThrownBy(() -> refreshTokenService.validateAndGetToken(third))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThat(refreshTokenRepository.count()).isZero();
+        assertThat(retiredRefreshTokenRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Issuing beyond the per-user cap evicts the oldest sessions")
+    void createRefreshToken_evictsOldestOverCap() {
+        // ########## [ Arrange ] ##########
+        String oldest = refreshTokenService.createRefreshToken(user);
+
+        // ########## [ Act ] ##########
+        for (int i = 0; i < 3; i++) {
+            refreshTokenService.createRefreshToken(user);
+        }
+
+        // ########## [ Assert ] ##########
+        assertThat(refreshTokenRepository.count()).isEqualTo(3);
+        assertThatThrownBy(() -> refreshTokenService.validateAndGetToken(oldest))
+                .isInstanceOf(InvalidCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("The per-user cap evicts the least recently used session, not the first created")
+    void createRefreshToken_evictsLeastRecentlyUsed() {
+        // ########## [ Arrange ] ##########
+        String first = refreshTokenService.createRefreshToken(user);
+        String second = refreshTokenService.createRefreshToken(user);
+        refreshTokenService.createRefreshToken(user);
+        backdateLastUse();
+        String firstRotated = refreshTokenService.rotateRefreshToken(refreshTokenService.validateAndGetToken(first));
+
+        // ########## [ Act ] ##########
+        refreshTokenService.createRefreshToken(user);
+
+        // ########## [ Assert ] ##########
+        assertThat(refreshTokenRepository.count()).isEqualTo(3);
+        assertThat(refreshTokenService.validateAndGetToken(firstRotated)).isNotNull();
+        assertThatThrownBy(() -> refreshTokenService.validateAndGetToken(second))
+                .isInstanceOf(InvalidCredentialsException.class);
+    }
+
+    // Puts the sessions issued so far an hour in the past, so later uses order strictly after them.
+    private void backdateLastUse() {
+        var sessions = refreshTokenRepository.findAll();
+        sessions.forEach(session -> session.setLastUsedAt(session.getLastUsedAt().minusHours(1)));
+        refreshTokenRepository.saveAll(sessions);
+    }
+}
@@ -0,0 +1,100 @@
+package dev.jonas.library.integration.services;
+
+import dev.jonas.library.entities.RefreshToken;
+import dev.jonas.library.entities.RetiredRefreshToken;
+import dev.jonas.library.entities.User;
+import dev.jonas.library.repositories.RefreshTokenRepository;
+import dev.jonas.library.repositories.RetiredRefreshTokenRepository;
+import dev.jonas.library.repositories.UserRepository;
+import dev.jonas.library.services.auth.RefreshTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "library.security.refresh-token-sweeper.chunk-size=2",
+        "library.security.refresh-token-sweeper.chunk-pause=0ms"
+})
+class RefreshTokenSweeperTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RetiredRefreshTokenRepository retiredRefreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @AfterEach
+    void cleanUp() {
+        retiredRefreshTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
+        if (user != null) userRepository.deleteById(user.getUserId());
+    }
+
+    @Test
+    @DisplayName("deleteAllExpiredTokens() removes expired and revoked tokens across chunks")
+    void deleteAllExpiredTokens_removesExpiredAndRevokedInChunks() {
+        // ########## [ Arrange ] ##########
+        user = userRepository.save(new User("Sven", "Svensson", "sven@mail.se", "hash", "1234567890", LocalDateTime.now()));
+
+        for (int i = 0; i < 3; i++) {
+            saveToken(LocalDateTime.now().minusDays(1), false);
+        }
+        saveToken(LocalDateTime.now().plusDays(1), true);
+        RefreshToken live = saveToken(LocalDateTime.now().plusDays(1), false);
+
+        // ########## [ Act ] ##########
+        int removed = refreshTokenService.deleteAllExpiredTokens();
+
+        // ########## [ Assert ] ##########
+        assertThat(removed).isEqualTo(4);
+        assertThat(refreshTokenRepository.findAll())
+                .extracting(RefreshToken::getId)
+                .containsExactly(live.getId());
+    }
+
+    @Test
+    @DisplayName("deleteAllExpiredTokens() drops retired digests once no token of that age can still be live")
+    void deleteAllExpiredTokens_sweepsOldRetiredDigests() {
+        // ########## [ Arrange ] ##########
+        user = userRepository.save(new User("Sven", "Svensson", "sven@mail.se", "hash", "1234567890", LocalDateTime.now()));
+        RefreshToken live = saveToken(LocalDateTime.now().plusDays(1), false);
+
+        for (int i = 0; i < 3; i++) {
+            retiredRefreshTokenRepository.save(new RetiredRefreshToken(live.getId(), new byte[32], LocalDateTime.now().minusYears(1)));
+        }
+        RetiredRefreshToken recent = retiredRefreshTokenRepository.save(
+                new RetiredRefreshToken(live.getId(), new byte[32], LocalDateTime.now()));
+
+        // ########## [ Act ] ##########
+        int removed = refreshTokenService.deleteAllExpiredTokens();
+
+        // ########## [ Assert ] ##########
+        assertThat(removed).isEqualTo(3);
+        assertThat(retiredRefreshTokenRepository.findAll())
+                .extracting(RetiredRefreshToken::getId)
+                .containsExactly(recent.getId());
+    }
+
+    private RefreshToken saveToken(LocalDateTime expiryDate, boolean revoked) {
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(new byte[32]);
+        token.setExpiryDate(expiryDate);
+        token.setRevoked(revoked);
+        return refreshTokenRepository.save(token);
+    }
+}
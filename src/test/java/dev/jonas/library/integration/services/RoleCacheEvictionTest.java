@@ -0,0 +1,86 @@
+package dev.jonas.library.integration.services;
+
+import dev.jonas.library.entities.Role;
+import dev.jonas.library.entities.User;
+import dev.jonas.library.entities.UserRole;
+import dev.jonas.library.mappers.RolesToAuthorityMapper;
+import dev.jonas.library.repositories.RoleRepository;
+import dev.jonas.library.repositories.UserRepository;
+import dev.jonas.library.repositories.UserRoleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RoleCacheEvictionTest {
+
+    @Autowired
+    private RolesToAuthorityMapper rolesToAuthorityMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @AfterEach
+    void cleanUp() {
+        userRoleRepository.deleteAll(userRoleRepository.findByUserId(user.getUserId()));
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("A role change is visible once committed, even if the roles were reloaded before the commit")
+    void roleChange_evictsCachedAuthoritiesAfterCommit() throws Exception {
+        // ########## [ Arrange ] ##########
+        user = userRepository.save(new User(
+                "Greta",
+                "Garbo",
+                "greta.roles@mail.se",
+                "hash",
+                "1234567890",
+                LocalDateTime.now()
+        ));
+        Role admin = roleRepository.findByRoleName("ADMIN").orElseGet(() -> {
+            Role created = new Role();
+            created.setRoleName("ADMIN");
+            return roleRepository.save(created);
+        });
+        assertThat(rolesToAuthorityMapper.mapRolesToAuthorities(user.getUserId())).isEmpty();
+
+        // ########## [ Act ] ##########
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRoleRepository.save(new UserRole(user.getUserId(), admin.getRoleId()));
+            rolesToAuthorityMapper.evict(user.getUserId());
+
+            // Another request resolves the roles before the change commits and caches what it sees.
+            CompletableFuture.supplyAsync(() -> rolesToAuthorityMapper.mapRolesToAuthorities(user.getUserId()))
+                    .orTimeout(10, TimeUnit.SECONDS)
+                    .join();
+        });
+
+        // ########## [ Assert ] ##########
+        assertThat(rolesToAuthorityMapper.mapRolesToAuthorities(user.getUserId()))
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+    }
+}
@@ -0,0 +1,157 @@
+package dev.jonas.library.integration.services;
+
+import dev.jonas.library.dtos.loan.LoanCreateDTO;
+import dev.jonas.library.entities.Author;
+import dev.jonas.library.entities.Book;
+import dev.jonas.library.entities.User;
+import dev.jonas.library.repositories.AuthorRepository;
+import dev.jonas.library.repositories.BookRepository;
+import dev.jonas.library.repositories.UserRepository;
+import dev.jonas.library.services.loan.LoanService;
+import dev.jonas.library.services.write.WritePipeline;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares direct service writes (each caller opens its own transaction) with writes funnelled through
+ * the {@link WritePipeline}, at 1, 8 and 64 concurrent clients. Throughput is logged, not asserted,
+ * since it depends on the machine; correctness and the absence of lock failures on the pipeline are.
+ */
+@Slf4j
+@SpringBootTest
+class WritePipelineBenchmarkTest {
+
+    private static final int WRITES_PER_RUN = 256;
+    private static final int[] CLIENTS = {1, 8, 64};
+
+    @Autowired
+    private WritePipeline writePipeline;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Author author;
+    private Book book;
+    private User user;
+
+    @AfterEach
+    void cleanUp() {
+        if (book != null) jdbcTemplate.update("DELETE FROM loans WHERE book_id = ?", book.getBookId());
+        if (user != null) userRepository.delete(user);
+        if (book != null) bookRepository.delete(book);
+        if (author != null) authorRepository.delete(author);
+    }
+
+    @Test
+    @DisplayName("Pipelined checkouts never fail on the write lock and stay consistent at any concurrency")
+    void directVersusPipelinedCheckouts() throws Exception {
+        // ########## [ Arrange ] ##########
+        int totalWrites = WRITES_PER_RUN * CLIENTS.length * 2;
+        author = authorRepository.save(new Author("Vilhelm", "Moberg", 1898, "Sweden"));
+        book = bookRepository.save(new Book("Utvandrarna", author, 1949, totalWrites, totalWrites));
+        user = userRepository.save(new User(
+                "Hasse",
+                "Målvakt",
+                "hasse.benchmark@mail.se",
+                "123",
+                "1234567890",
+                LocalDateTime.now()
+        ));
+        LoanCreateDTO checkout = new LoanCreateDTO(user.getUserId(), book.getBookId());
+
+        // ########## [ Act ] ##########
+        int succeeded = 0;
+        for (int clients : CLIENTS) {
+            Run direct = run(clients, ok -> {
+                loanService.addLoan(checkout);
+                ok.incrementAndGet();
+            });
+            Run pipelined = run(clients, ok -> {
+                writePipeline.submit(() -> loanService.addLoan(checkout)).join();
+                ok.incrementAndGet();
+            });
+            direct.report("direct", clients);
+            pipelined.report("pipeline", clients);
+
+            // ########## [ Assert ] ##########
+            assertThat(pipelined.failed()).isZero();
+            if (clients == 1) {
+                assertThat(direct.failed()).isZero(); // without contention the direct path must not fail either
+            }
+            succeeded += direct.succeeded() + pipelined.succeeded();
+        }
+
+        int remaining = bookRepository.findById(book.getBookId()).orElseThrow().getAvailableCopies();
+        Integer loans = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loans WHERE book_id = ?", Integer.class, book.getBookId());
+        assertThat(remaining).isEqualTo(totalWrites - succeeded);
+        assertThat(loans).isEqualTo(succeeded);
+    }
+
+    // ==================== [ Helpers ] ====================
+    private record Run(int succeeded, int failed, long elapsedMillis) {
+        void report(String path, int clients) {
+            log.info("{} writes, {} client(s): {} ms, {} writes/s, {} failed",
+                    path, clients, elapsedMillis, WRITES_PER_RUN * 1000L / elapsedMillis, failed);
+        }
+    }
+
+    private Run run(int clients, Consumer<AtomicInteger> write) throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < WRITES_PER_RUN; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    write.accept(succeeded);
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet(); // e.g. SQLITE_BUSY under heavy contention
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        pool.shutdown();
+
+        return new Run(succeeded.get(), failed.get(), elapsedMillis);
+    }
+}
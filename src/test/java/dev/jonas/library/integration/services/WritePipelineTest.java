@@ -0,0 +1,308 @@
+package dev.jonas.library.integration.services;
+
+import dev.jonas.library.dtos.auth.AuthResponseDto;
+import dev.jonas.library.dtos.loan.LoanBatchOutcome;
+import dev.jonas.library.dtos.loan.LoanBatchResultDTO;
+import dev.jonas.library.dtos.loan.LoanBatchReturnDTO;
+import dev.jonas.library.dtos.loan.LoanCreateDTO;
+import dev.jonas.library.dtos.loan.LoanDTO;
+import dev.jonas.library.dtos.user.UserInputDTO;
+import dev.jonas.library.entities.Author;
+import dev.jonas.library.entities.Book;
+import dev.jonas.library.entities.Loan;
+import dev.jonas.library.entities.Role;
+import dev.jonas.library.entities.User;
+import dev.jonas.library.exceptions.api.BookNotFoundException;
+import dev.jonas.library.exceptions.api.BookUnavailableException;
+import dev.jonas.library.repositories.AuthorRepository;
+import dev.jonas.library.repositories.BookRepository;
+import dev.jonas.library.repositories.LoanRepository;
+import dev.jonas.library.repositories.RoleRepository;
+import dev.jonas.library.repositories.UserRepository;
+import dev.jonas.library.repositories.UserRoleRepository;
+import dev.jonas.library.services.auth.AuthService;
+import dev.jonas.library.services.loan.LoanService;
+import dev.jonas.library.services.write.WritePipeline;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class WritePipelineTest {
+
+    private static final int GROUPED_WRITES = 10;
+
+    @Autowired
+    private WritePipeline writePipeline;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Author author;
+    private Book book;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // ########## [ Arrange ] ##########
+        author = authorRepository.save(new Author("Selma", "Lagerlöf", 1858, "Sweden"));
+        book = bookRepository.save(new Book("Nils Holgersson", author, 1906, 20, 20));
+        user = userRepository.save(new User(
+                "Hasse",
+                "Målvakt",
+                "hasse.pipeline@mail.se",
+                "123",
+                "1234567890",
+                LocalDateTime.now()
+        ));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM loans WHERE book_id = ?", book.getBookId());
+        userRepository.delete(user);
+        bookRepository.delete(book);
+        authorRepository.delete(author);
+    }
+
+    @Test
+    @DisplayName("Queued writes commit as one group; a failing write fails alone")
+    void queuedWrites_commitTogether_andFailuresStayIsolated() throws Exception {
+        // ########## [ Arrange ] ##########
+        // Hold the writer so the following writes pile up and are drained as one group.
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocker = writePipeline.submit(() -> {
+            writerBusy.countDown();
+            await(release);
+            return null;
+        });
+        assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // ########## [ Act ] ##########
+        List<CompletableFuture<LoanDTO>> loans = new ArrayList<>();
+        for (int i = 0; i < GROUPED_WRITES; i++) {
+            loans.add(writePipeline.submit(() -> loanService.addLoan(new LoanCreateDTO(user.getUserId(), book.getBookId()))));
+        }
+        CompletableFuture<LoanDTO> missingBook = writePipeline.submit(() -> loanService.addLoan(new LoanCreateDTO(user.getUserId(), 999_999L)));
+        release.countDown();
+
+        // ########## [ Assert ] ##########
+        blocker.get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<LoanDTO> loan : loans) {
+            assertThat(loan.get(10, TimeUnit.SECONDS).getLoanId()).isNotNull();
+        }
+        assertThatThrownBy(() -> missingBook.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfAny(BookNotFoundException.class, BookUnavailableException.class);
+
+        int available = bookRepository.findById(book.getBookId()).orElseThrow().getAvailableCopies();
+        assertThat(available).isEqualTo(20 - GROUPED_WRITES);
+        assertThat(meterRegistry.get("write_pipeline.batch.size").summary().max())
+                .isGreaterThanOrEqualTo(GROUPED_WRITES + 1);
+    }
+
+    @Test
+    @DisplayName("A registration replayed after its group rolls back is inserted as a new user")
+    void register_inGroupWithFailingWrite_isReplayedAsFreshInsert() throws Exception {
+        // ########## [ Arrange ] ##########
+        Role userRole = roleRepository.findByRoleName("USER").orElseGet(() -> {
+            Role role = new Role();
+            role.setRoleName("USER");
+            return roleRepository.save(role);
+        });
+
+        UserInputDTO registration = new UserInputDTO();
+        registration.setFirstName("Astrid");
+        registration.setLastName("Lindgren");
+        registration.setEmail("astrid.pipeline@mail.se");
+        registration.setNationalId("1907111400");
+        registration.setPassword("Pippi!2024");
+
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocker = writePipeline.submit(() -> {
+            writerBusy.countDown();
+            await(release);
+            return null;
+        });
+        assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // ########## [ Act ] ##########
+        // The registration is queued once its password is hashed; the failing write lands behind it in the same group.
+        CompletableFuture<AuthResponseDto> registered = authService.register(registration);
+        Gauge queued = meterRegistry.get("write_pipeline.queue.size").gauge();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queued.value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        CompletableFuture<LoanDTO> missingBook = writePipeline.submit(() -> loanService.addLoan(new LoanCreateDTO(user.getUserId(), 999_999L)));
+        release.countDown();
+
+        // ########## [ Assert ] ##########
+        try {
+            blocker.get(10, TimeUnit.SECONDS);
+            assertThat(registered.get(10, TimeUnit.SECONDS).getAccessToken()).isNotBlank();
+            assertThatThrownBy(() -> missingBook.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOf(BookNotFoundException.class);
+
+            User saved = userRepository.findByEmailIgnoreCase("astrid.pipeline@mail.se").orElseThrow();
+            assertThat(userRoleRepository.existsByUserIdAndRoleId(saved.getUserId(), userRole.getRoleId())).isTrue();
+        } finally {
+            userRepository.findByEmailIgnoreCase("astrid.pipeline@mail.se").ifPresent(saved -> {
+                jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id = ?", saved.getUserId());
+                userRoleRepository.deleteAll(userRoleRepository.findByUserId(saved.getUserId()));
+                userRepository.delete(saved);
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("An Error thrown by a write fails only that write and leaves the writer running")
+    void errorInWrite_failsThatWrite_andWriterKeepsDraining() throws Exception {
+        // ########## [ Act ] ##########
+        CompletableFuture<Object> broken = writePipeline.submit(() -> {
+            throw new AssertionError("boom");
+        });
+        CompletableFuture<LoanDTO> next = writePipeline.submit(() -> loanService.addLoan(new LoanCreateDTO(user.getUserId(), book.getBookId())));
+
+        // ########## [ Assert ] ##########
+        assertThatThrownBy(() -> broken.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(AssertionError.class);
+        assertThat(next.get(10, TimeUnit.SECONDS).getLoanId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("An extension and a batch return of the same loan in one group leave the loan returned")
+    void extendThenBatchReturn_inOneGroup_keepsLoanReturned() throws Exception {
+        // ########## [ Arrange ] ##########
+        Long loanId = loanService.addLoan(new LoanCreateDTO(user.getUserId(), book.getBookId())).getLoanId();
+        Loan loan = loanRepository.findById(loanId).orElseThrow();
+        loan.setDueDate(LocalDate.now().minusDays(1)); // so the extension actually changes the row
+        loanRepository.save(loan);
+        CountDownLatch release = holdWriter();
+
+        // ########## [ Act ] ##########
+        CompletableFuture<LoanDTO> extended = writePipeline.submit(() -> loanService.extendLoan(loanId));
+        CompletableFuture<LoanBatchResultDTO> returned = writePipeline.submit(() -> loanService.returnLoans(new LoanBatchReturnDTO(List.of(loanId))));
+        release.countDown();
+
+        // ########## [ Assert ] ##########
+        assertThat(extended.get(10, TimeUnit.SECONDS).getLoanId()).isEqualTo(loanId);
+        assertThat(returned.get(10, TimeUnit.SECONDS).getItems().get(0).getOutcome()).isEqualTo(LoanBatchOutcome.RETURNED);
+        assertThat(jdbcTemplate.queryForObject("SELECT returned_date FROM loans WHERE loan_id = ?", Object.class, loanId)).isNotNull();
+        assertThat(bookRepository.findById(book.getBookId()).orElseThrow().getAvailableCopies()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("A write failing with a business exception rolls back alone; the rest of the group commits once")
+    void businessFailure_rollsBackOnlyThatWrite_withoutReplayingTheGroup() throws Exception {
+        // ########## [ Arrange ] ##########
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = holdWriter();
+
+        // ########## [ Act ] ##########
+        List<CompletableFuture<LoanDTO>> loans = new ArrayList<>();
+        for (int i = 0; i < GROUPED_WRITES / 2; i++) {
+            loans.add(writePipeline.submit(() -> {
+                runs.incrementAndGet();
+                return loanService.addLoan(new LoanCreateDTO(user.getUserId(), book.getBookId()));
+            }));
+        }
+        // Fails inside a @Transactional service method.
+        CompletableFuture<LoanDTO> missingBook = writePipeline.submit(() -> loanService.addLoan(new LoanCreateDTO(user.getUserId(), 999_999L)));
+        // Writes before failing; that write must not survive, or every later checkout would be rejected.
+        CompletableFuture<Object> emptiesShelf = writePipeline.submit(() -> {
+            jdbcTemplate.update("UPDATE books SET available_copies = 0 WHERE book_id = ?", book.getBookId());
+            throw new BookUnavailableException("No copies left");
+        });
+        for (int i = 0; i < GROUPED_WRITES / 2; i++) {
+            loans.add(writePipeline.submit(() -> {
+                runs.incrementAndGet();
+                return loanService.addLoan(new LoanCreateDTO(user.getUserId(), book.getBookId()));
+            }));
+        }
+        release.countDown();
+
+        // ########## [ Assert ] ##########
+        for (CompletableFuture<LoanDTO> loan : loans) {
+            assertThat(loan.get(10, TimeUnit.SECONDS).getLoanId()).isNotNull();
+        }
+        assertThatThrownBy(() -> missingBook.get(10, TimeUnit.SECONDS)).cause().isInstanceOf(BookNotFoundException.class);
+        assertThatThrownBy(() -> emptiesShelf.get(10, TimeUnit.SECONDS)).cause().isInstanceOf(BookUnavailableException.class);
+        assertThat(runs).hasValue(GROUPED_WRITES); // nothing was replayed
+        assertThat(bookRepository.findById(book.getBookId()).orElseThrow().getAvailableCopies()).isEqualTo(20 - GROUPED_WRITES);
+    }
+
+    /** Occupies the writer until the returned latch is released, so writes submitted meanwhile form one group. */
+    private CountDownLatch holdWriter() throws InterruptedException {
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writePipeline.submit(() -> {
+            writerBusy.countDown();
+            await(release);
+            return null;
+        });
+        assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        return release;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
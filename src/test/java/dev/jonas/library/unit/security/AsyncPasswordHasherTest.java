@@ -0,0 +1,58 @@
+package dev.jonas.library.unit.security;
+
+import dev.jonas.library.exceptions.security.PasswordHashingBusyException;
+import dev.jonas.library.security.AsyncPasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncPasswordHasherTest {
+
+    @Test
+    @DisplayName("encode() rejects immediately once the pool and queue are full")
+    void encode_rejectsWhenSaturated() throws Exception {
+        // ########## [ Arrange ] ##########
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncPasswordHasher hasher = new AsyncPasswordHasher(
+                blockingEncoder(release), new SimpleMeterRegistry(), 1, 1);
+
+        // ########## [ Act ] ##########
+        CompletableFuture<String> running = hasher.encode("first");
+        CompletableFuture<String> queued = hasher.encode("second");
+
+        // ########## [ Assert ] ##########
+        assertThatThrownBy(() -> hasher.encode("third"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:second");
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
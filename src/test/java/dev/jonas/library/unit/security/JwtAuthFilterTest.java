@@ -0,0 +1,145 @@
+package dev.jonas.library.unit.security;
+
+import dev.jonas.library.entities.User;
+import dev.jonas.library.repositories.RevokedAccessTokenRepository;
+import dev.jonas.library.repositories.UserRepository;
+import dev.jonas.library.security.CurrentUserContext;
+import dev.jonas.library.security.CustomUserDetails;
+import dev.jonas.library.security.TokenUserDetails;
+import dev.jonas.library.security.jwt.AccessTokenDenyList;
+import dev.jonas.library.security.jwt.JwtAuthFilter;
+import dev.jonas.library.security.jwt.JwtKeyProperties;
+import dev.jonas.library.security.jwt.JwtKeyRing;
+import dev.jonas.library.security.jwt.JwtUtil;
+import dev.jonas.library.services.auth.UserDetailsServiceImpl;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class JwtAuthFilterTest {
+
+    private JwtUtil jwtUtil;
+    private UserDetailsServiceImpl userDetailsService;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // ########## [ Arrange ] ##########
+        JwtKeyProperties properties = new JwtKeyProperties();
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+        jwtUtil = new JwtUtil(new JwtKeyRing(properties, environment)); // ephemeral HS256 key
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenTtl", Duration.ofMinutes(15));
+
+        userDetailsService = mock(UserDetailsServiceImpl.class);
+        filter = new JwtAuthFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "currentUserContext", new CurrentUserContext(mock(UserRepository.class)));
+        ReflectionTestUtils.setField(filter, "accessTokenDenyList", new AccessTokenDenyList(mock(RevokedAccessTokenRepository.class), 1_000));
+        ReflectionTestUtils.setField(filter, "statelessAuth", true);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("An issued token authenticates as the same uid and roles without a user lookup")
+    void issuedToken_roundTripsToSamePrincipal() throws Exception {
+        // ########## [ Arrange ] ##########
+        String token = jwtUtil.generateToken(userDetails(42L, "ROLE_USER", "ROLE_ADMIN"));
+
+        // ########## [ Act ] ##########
+        Authentication authentication = authenticate(token);
+
+        // ########## [ Assert ] ##########
+        assertThat(jwtUtil.parseClaims(token).getSubject()).isEqualTo("greta@mail.se");
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(TokenUserDetails.class, principal -> {
+            assertThat(principal.getId()).isEqualTo(42L);
+            assertThat(principal.getUsername()).isEqualTo("greta@mail.se");
+        });
+        assertThat(authentication.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("A token whose payload was altered fails verification and does not authenticate")
+    void tamperedToken_isRejected() throws Exception {
+        // ########## [ Arrange ] ##########
+        String[] parts = jwtUtil.generateToken(userDetails(42L, "ROLE_USER")).split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("ROLE_USER", "ROLE_ADMIN");
+        String tampered = parts[0] + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "."
+                + parts[2];
+
+        // ########## [ Act & Assert ] ##########
+        assertThatThrownBy(() -> jwtUtil.parseClaims(tampered)).isInstanceOf(SignatureException.class);
+        assertThat(authenticate(tampered)).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("A validly signed token without a uid claim does not authenticate in stateless mode")
+    void tokenWithoutUserId_isRejected() throws Exception {
+        // ########## [ Arrange ] ##########
+        String token = jwtUtil.generateToken(org.springframework.security.core.userdetails.User
+                .withUsername("greta@mail.se")
+                .password("hash")
+                .authorities("ROLE_ADMIN")
+                .build());
+
+        // ########## [ Act & Assert ] ##########
+        assertThat(jwtUtil.toUserDetails(jwtUtil.parseClaims(token))).isNull();
+        assertThat(authenticate(token)).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    // ########## [ Helpers ] ##########
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request); // the request always continues down the chain
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static CustomUserDetails userDetails(Long id, String... roles) {
+        User user = new User("Greta", "Garbo", "greta@mail.se", "hash", "1234567890", LocalDateTime.now());
+        user.setUserId(id);
+        List<GrantedAuthority> authorities = Arrays.stream(roles)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new CustomUserDetails(user, authorities);
+    }
+}
@@ -0,0 +1,130 @@
+package dev.jonas.library.unit.security;
+
+import dev.jonas.library.entities.User;
+import dev.jonas.library.security.CustomUserDetails;
+import dev.jonas.library.security.jwt.JwtKeyProperties;
+import dev.jonas.library.security.jwt.JwtKeyRing;
+import dev.jonas.library.security.jwt.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET_1 = base64(new byte[32]);
+    private static final String SECRET_2 = base64("0123456789abcdef0123456789abcdef".getBytes());
+
+    @Test
+    @DisplayName("Tokens signed with the previous key still verify after rotation")
+    void rotation_keepsOldKeyVerifying() {
+        // ########## [ Arrange ] ##########
+        JwtUtil beforeRotation = jwtUtil("k1", hmacKey("k1", SECRET_1));
+        JwtUtil afterRotation = jwtUtil("k2", hmacKey("k1", SECRET_1), hmacKey("k2", SECRET_2));
+        JwtUtil afterRetirement = jwtUtil("k2", hmacKey("k2", SECRET_2));
+
+        // ########## [ Act ] ##########
+        String oldToken = beforeRotation.generateToken(userDetails());
+
+        // ########## [ Assert ] ##########
+        assertThat(afterRotation.parseClaims(oldToken).getSubject()).isEqualTo("greta@mail.se");
+        assertThat(afterRotation.parseClaims(afterRotation.generateToken(userDetails())).getSubject())
+                .isEqualTo("greta@mail.se");
+        assertThatThrownBy(() -> afterRetirement.parseClaims(oldToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("ES256 tokens verify on a node holding only the public key")
+    void es256_verifiesWithPublicKeyOnly() throws Exception {
+        // ########## [ Arrange ] ##########
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+
+        JwtKeyProperties.KeyDefinition signing = ecKey("es1", keyPair);
+        JwtKeyProperties.KeyDefinition verifyOnly = ecKey("es1", keyPair);
+        verifyOnly.setPrivateKey(null);
+
+        JwtUtil signer = jwtUtil("es1", signing);
+        JwtUtil verifier = jwtUtil(null, verifyOnly);
+
+        // ########## [ Act ] ##########
+        String token = signer.generateToken(userDetails());
+
+        // ########## [ Assert ] ##########
+        assertThat(verifier.parseClaims(token).getSubject()).isEqualTo("greta@mail.se");
+        assertThatThrownBy(() -> verifier.generateToken(userDetails())).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Startup fails without configured keys unless the dev or test profile is active")
+    void noKeys_failOutsideDevAndTest() {
+        // ########## [ Act & Assert ] ##########
+        assertThatThrownBy(() -> new JwtKeyRing(new JwtKeyProperties(), environment()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("library.jwt.keys");
+        assertThatThrownBy(() -> new JwtKeyRing(new JwtKeyProperties(), environment("prod")))
+                .isInstanceOf(IllegalStateException.class);
+
+        JwtUtil dev = new JwtUtil(new JwtKeyRing(new JwtKeyProperties(), environment("dev")));
+        ReflectionTestUtils.setField(dev, "accessTokenTtl", Duration.ofMinutes(15));
+        assertThat(dev.parseClaims(dev.generateToken(userDetails())).getSubject()).isEqualTo("greta@mail.se");
+    }
+
+    // ########## [ Helpers ] ##########
+    private static MockEnvironment environment(String... activeProfiles) {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles(activeProfiles);
+        return environment;
+    }
+
+    private static JwtUtil jwtUtil(String activeKeyId, JwtKeyProperties.KeyDefinition... keys) {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setActiveKeyId(activeKeyId);
+        properties.setKeys(List.of(keys));
+
+        JwtUtil jwtUtil = new JwtUtil(new JwtKeyRing(properties, environment()));
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenTtl", Duration.ofMinutes(15));
+        return jwtUtil;
+    }
+
+    private static JwtKeyProperties.KeyDefinition hmacKey(String id, String secret) {
+        JwtKeyProperties.KeyDefinition key = new JwtKeyProperties.KeyDefinition();
+        key.setId(id);
+        key.setSecret(secret);
+        return key;
+    }
+
+    private static JwtKeyProperties.KeyDefinition ecKey(String id, KeyPair keyPair) {
+        JwtKeyProperties.KeyDefinition key = new JwtKeyProperties.KeyDefinition();
+        key.setId(id);
+        key.setAlgorithm(SignatureAlgorithm.ES256);
+        key.setPrivateKey(base64(keyPair.getPrivate().getEncoded()));
+        key.setPublicKey(base64(keyPair.getPublic().getEncoded()));
+        return key;
+    }
+
+    private static CustomUserDetails userDetails() {
+        User user = new User("Greta", "Garbo", "greta@mail.se", "hash", "1234567890", LocalDateTime.now());
+        user.setUserId(1L);
+        return new CustomUserDetails(user, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
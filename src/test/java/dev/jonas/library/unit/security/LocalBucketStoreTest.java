@@ -0,0 +1,79 @@
+package dev.jonas.library.unit.security;
+
+import dev.jonas.library.security.ratelimit.LocalBucketStore;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalBucketStoreTest {
+
+    private static final long MAX_SIZE = 100;
+    private static final Supplier<BucketConfiguration> ONE_PER_MINUTE = () -> BucketConfiguration.builder()
+            .addLimit(Bandwidth.simple(1, Duration.ofMinutes(1)))
+            .build();
+
+    @Test
+    @DisplayName("Overfilling past max-size evicts buckets and publishes it as cache metrics")
+    void overfill_evictsToMaxSize_andExportsMetrics() throws Exception {
+        // ########## [ Arrange ] ##########
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalBucketStore store = new LocalBucketStore(meterRegistry, MAX_SIZE, Duration.ofMinutes(10));
+
+        // ########## [ Act ] ##########
+        for (int i = 0; i < MAX_SIZE * 10; i++) {
+            store.resolve("login:10.0." + (i / 256) + "." + (i % 256), ONE_PER_MINUTE);
+        }
+        awaitSizeAtMost(meterRegistry, MAX_SIZE);
+
+        // ########## [ Assert ] ##########
+        assertThat(cacheSize(meterRegistry)).isLessThanOrEqualTo(MAX_SIZE);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "rate-limit-buckets").functionCounter().count())
+                .isGreaterThanOrEqualTo(MAX_SIZE * 9);
+        assertThat(meterRegistry.get("cache.puts").tag("cache", "rate-limit-buckets").functionCounter().count())
+                .isEqualTo(MAX_SIZE * 10);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "rate-limit-buckets").tag("result", "miss")
+                .functionCounter().count())
+                .isEqualTo(MAX_SIZE * 10);
+    }
+
+    @Test
+    @DisplayName("A key whose bucket was evicted starts over with a full bucket")
+    void evictedKey_getsFreshBucket() throws Exception {
+        // ########## [ Arrange ] ##########
+        LocalBucketStore store = new LocalBucketStore(new SimpleMeterRegistry(), MAX_SIZE, Duration.ofSeconds(1));
+        Bucket exhausted = store.resolve("login:10.0.0.1", ONE_PER_MINUTE);
+        assertThat(exhausted.tryConsume(1)).isTrue();
+        assertThat(store.resolve("login:10.0.0.1", ONE_PER_MINUTE).tryConsume(1)).isFalse();
+
+        // ########## [ Act ] ##########
+        Thread.sleep(1_500);
+        Bucket fresh = store.resolve("login:10.0.0.1", ONE_PER_MINUTE);
+
+        // ########## [ Assert ] ##########
+        assertThat(fresh).isNotSameAs(exhausted);
+        assertThat(fresh.tryConsume(1)).isTrue();
+    }
+
+    // ==================== [ Helpers ] ====================
+    private static double cacheSize(MeterRegistry meterRegistry) {
+        return meterRegistry.get("cache.size").tag("cache", "rate-limit-buckets").gauge().value();
+    }
+
+    // Caffeine evicts on its maintenance pass, which runs asynchronously after the writes.
+    private static void awaitSizeAtMost(MeterRegistry meterRegistry, long maxSize) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cacheSize(meterRegistry) > maxSize && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package dev.jonas.library.unit.services;
+
+// #################### [ Imports ] ####################
+
+import dev.jonas.library.entities.User;
+import dev.jonas.library.services.auth.LoginAttemptServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LoginAttemptServiceImplTest {
+
+    // #################### [ Mocks ] ####################
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LoginAttemptServiceImpl loginAttemptService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        loginAttemptService = new LoginAttemptServiceImpl(jdbcTemplate, new TransactionTemplate(transactionManager));
+
+        user = new User("Hasse", "Målvakt", "hasse@mail.se", "hash", "1234567890", LocalDateTime.now());
+        user.setUserId(1L);
+    }
+
+    // #################### [ Tests ] ####################
+
+    @Test
+    void reset_skipsWriteWhenNothingChanged() {
+        // #################### [ Act ] ####################
+        loginAttemptService.reset(user);
+        loginAttemptService.flush();
+
+        // #################### [ Assert ] ####################
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void failedAttempts_belowThreshold_stayInMemory() {
+        // #################### [ Act ] ####################
+        for (int i = 0; i < 4; i++) {
+            loginAttemptService.recordFailedAttempt(user);
+        }
+        loginAttemptService.flush();
+
+        // #################### [ Assert ] ####################
+        assertFalse(loginAttemptService.isLocked(user));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fifthFailedAttempt_locksAndPersistsOnFlush() {
+        // #################### [ Act ] ####################
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.recordFailedAttempt(user);
+        }
+
+        // #################### [ Assert ] ####################
+        assertTrue(loginAttemptService.isLocked(user));
+        verifyNoInteractions(jdbcTemplate); // write-behind: nothing persisted yet
+
+        loginAttemptService.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        assertEquals(5L, batch.getValue().get(0)[0]);
+        assertNotNull(batch.getValue().get(0)[1]);
+        assertEquals(1L, batch.getValue().get(0)[2]);
+    }
+
+    @Test
+    void reset_afterPersistedLock_clearsOnce() {
+        // #################### [ Arrange ] ####################
+        user.setFailedLoginAttempts(5);
+        user.setLockedUntil(LocalDateTime.now().minusMinutes(1));
+
+        // #################### [ Act ] ####################
+        loginAttemptService.reset(user);
+        loginAttemptService.reset(user);
+        loginAttemptService.flush();
+
+        // #################### [ Assert ] ####################
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(
+                "UPDATE users SET failed_login_attempts = ?, locked_until = ? WHERE user_id = ?"), anyList());
+        assertEquals(0, user.getFailedLoginAttempts());
+        assertNull(user.getLockedUntil());
+    }
+}
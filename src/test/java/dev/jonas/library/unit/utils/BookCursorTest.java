@@ -0,0 +1,64 @@
+package dev.jonas.library.unit.utils;
+
+import dev.jonas.library.utils.BookCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookCursorTest {
+
+    @Test
+    @DisplayName("decode(encode()) returns the same position, even for titles containing the separator")
+    void encodeDecode_roundTrips() {
+        // ########## [ Arrange ] ##########
+        BookCursor original = new BookCursor("Star Wars: Ödets skugga", 42L);
+
+        // ########## [ Act ] ##########
+        String encoded = original.encode();
+        BookCursor decoded = BookCursor.decode(encoded);
+
+        // ########## [ Assert ] ##########
+        assertThat(encoded).doesNotContain("Star", ":", "=", "+", "/");
+        assertThat(decoded.getTitle()).isEqualTo("Star Wars: Ödets skugga");
+        assertThat(decoded.getBookId()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("decode() rejects malformed cursors with 400")
+    void decode_rejectsMalformedCursor() {
+        // ########## [ Act & Assert ] ##########
+        assertBadRequest("not base64!");
+        assertBadRequest(encodeRaw("Missing separator"));
+        assertBadRequest(encodeRaw("x:Dune"));
+        assertBadRequest(encodeRaw(":Dune"));
+    }
+
+    @Test
+    @DisplayName("decode() rejects a real cursor whose id was edited")
+    void decode_rejectsEditedCursor() {
+        // ########## [ Arrange ] ##########
+        String raw = new String(Base64.getUrlDecoder().decode(new BookCursor("Dune", 7L).encode()), StandardCharsets.UTF_8);
+
+        // ########## [ Act & Assert ] ##########
+        assertBadRequest(encodeRaw(raw.replace("7:", "7 OR 1=1:")));
+    }
+
+    // ==================== [ Helpers ] ====================
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertBadRequest(String cursor) {
+        assertThatThrownBy(() -> BookCursor.decode(cursor))
+                .as("cursor %s", cursor)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}